@@ -0,0 +1,57 @@
+package com.mygdx.game;
+
+/**
+ * Simple global clock shared by all the animations of the game. Every animated
+ * element reads its current frame from the same state time, so advancing all 
+ * animations costs a single addition per frame, no matter how many animated 
+ * elements there are.
+ * Classes that use AnimationClock: GameCore, SpriteRenderer
+ * 
+ * Our contribution: 100%
+ */
+public class AnimationClock {
+
+    private static float stateTime = 0;
+    private static float timeScale = 1;
+    private static float updateInterval = 0;
+    private static float pending = 0;
+
+    /**
+     * Advances the clock. Should be invoked once per frame. If an update interval
+     * is set, the time of the clock only moves once per interval.
+     * @param delta the time in seconds elapsed since the previous frame
+     */
+    public static void advance(float delta) {
+        pending += delta * timeScale;
+        if (pending >= updateInterval) {
+            stateTime += pending;
+            pending = 0;
+        }
+    }
+
+    /**
+     * Returns the time elapsed on the clock.
+     * @return the state time of the animations in seconds
+     */
+    public static float getTime() {
+        return stateTime;
+    }
+
+    /**
+     * Sets the speed of the clock. A scale of 0 freezes all animations.
+     * @param scale the desired speed, 1 being real time
+     */
+    public static void setTimeScale(float scale) {
+        timeScale = scale;
+    }
+
+    /**
+     * Sets the minimal time between updates of the clock, lowering the rate at
+     * which animations change their frames. An interval of 0 updates the clock
+     * on every frame.
+     * @param interval the desired interval in seconds
+     */
+    public static void setUpdateInterval(float interval) {
+        updateInterval = interval;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+
+/**
+ * Description of a single play area of the game, as declared in the area 
+ * manifest read by AreaRegistry. Holds only the name of the map, so the map 
+ * itself is not loaded until a PlayScreen for the area is created. The spawn of 
+ * the player can be left undefined (NaN), in which case the spawn stored in the
+ * map by AreaGenerator is used.
+ * 
+ * Our contribution: 100%
+ */
+public class AreaDefinition {
+
+    private final String id;
+    private final String mapName;
+    private final float camWidth, camHeight;
+    private final float spawnX, spawnY;
+
+    /**
+     * Creates an instance of AreaDefinition.
+     * @param id the unique identifier of the area
+     * @param mapName the file name of the TiledMap of the area
+     * @param camWidth the desired width of Camera window
+     * @param camHeight the desired height of Camera window
+     * @param spawnX the X-coordinate of spawn for the player
+     * @param spawnY the Y-coordinate of spawn for the player
+     */
+    public AreaDefinition(String id, String mapName, float camWidth, float camHeight,
+            float spawnX, float spawnY) {
+        this.id = id;
+        this.mapName = mapName;
+        this.camWidth = camWidth;
+        this.camHeight = camHeight;
+        this.spawnX = spawnX;
+        this.spawnY = spawnY;
+    }
+
+    /**
+     * Creates a new PlayScreen for this area. The map of the area is acquired 
+     * from Resources, and released by the PlayScreen when disposed.
+     * 
+     * @return a new PlayScreen instance for this area
+     */
+    public PlayScreen createScreen() {
+        ResourceHandle<TiledMap> map = Resources.acquireMap(mapName);
+        return new PlayScreen(id, map, camWidth, camHeight, getSpawnX(map.get()), getSpawnY(map.get()));
+    }
+
+    /**
+     * Returns the unique identifier of the area.
+     * @return the identifier of the area
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the file name of the TiledMap of the area.
+     * @return the file name of the map
+     */
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * Returns the X-coordinate of spawn for the player.
+     * @param map the loaded map of the area
+     * @return the X-coordinate of spawn
+     */
+    public float getSpawnX(TiledMap map) {
+        return Float.isNaN(spawnX) ? AreaGenerator.getSpawnX(map) : spawnX;
+    }
+
+    /**
+     * Returns the Y-coordinate of spawn for the player.
+     * @param map the loaded map of the area
+     * @return the Y-coordinate of spawn
+     */
+    public float getSpawnY(TiledMap map) {
+        return Float.isNaN(spawnY) ? AreaGenerator.getSpawnY(map) : spawnY;
+    }
+}
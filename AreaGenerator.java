@@ -0,0 +1,471 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates play areas procedurally from a seed. The map is split into square 
+ * regions, generated in parallel on a ForkJoinPool: each region is filled with 
+ * a cave by a cellular automaton seeded from the seed of the map and the 
+ * position of the region, so the result does not depend on the scheduling of 
+ * the threads. Every region is crossed by a horizontal and a vertical corridor 
+ * through its middle, which line up with the corridors of the neighbouring 
+ * regions and connect the whole map.
+ * 
+ * The generated map has the same layers as the hand-authored ones: background,
+ * walls and shadows at indices 0, 1 and 2, and the "Portal" and "BlockedAreas" 
+ * layers read by the detectors. Before the map is returned, every portal is 
+ * checked to be reachable by the player from the spawn, and portals that are 
+ * not are moved to reachable places. The spawn is always in the middle of the
+ * first region, see getSpawnX(TiledMap) and getSpawnY(TiledMap). A map too 
+ * cramped to fit its portals away from the spawn and each other is rejected.
+ * 
+ * The tiles are made of the textures of the hand-authored tilesets, acquired 
+ * from Resources, so all generated maps share them. The map releases them when
+ * disposed. Generating a textured map therefore has to happen on the rendering
+ * thread. Maps for the simulation only, see SimulationMapLoader, are generated 
+ * without textures, and can be generated on any thread.
+ * 
+ * Generated maps are referred to by names of the form
+ * 
+ *     generated:<seed>:<width>x<height>:<portal type>,<portal type>...
+ * 
+ * which can be used anywhere a map file name is expected, e.g. in the area manifest.
+ * 
+ * Our contribution: 100%
+ */
+public class AreaGenerator {
+
+    public static final String PREFIX = "generated:";
+
+    private static final int REGION = 32;
+    private static final int TILE = 64;
+    private static final int SEQUENTIAL_REGIONS = 4;
+    private static final int SMOOTHING_STEPS = 4;
+    private static final float WALL_CHANCE = 0.45f;
+    private static final ForkJoinPool pool = new ForkJoinPool();
+
+    private final long seed;
+    private final int width, height;
+    private final String[] portalTypes;
+    private final boolean[] solid;
+    private final int regionsX, regionsY;
+
+    /**
+     * Creates an instance of AreaGenerator.
+     * @param seed the seed of the map
+     * @param width the width of the map in tiles
+     * @param height the height of the map in tiles
+     * @param portalTypes the values of "Portal" property of the portals to be placed
+     */
+    public AreaGenerator(long seed, int width, int height, String[] portalTypes) {
+        if (width < 8 || height < 8) {
+            throw new GdxRuntimeException("Generated maps have to be at least 8x8 tiles");
+        }
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.portalTypes = portalTypes;
+        this.solid = new boolean[width * height];
+        this.regionsX = (width + REGION - 1) / REGION;
+        this.regionsY = (height + REGION - 1) / REGION;
+    }
+
+    /**
+     * Checks whether the map name refers to a generated map.
+     * @param mapName the name of the map
+     * @return true if the map has to be generated
+     */
+    public static boolean isGenerated(String mapName) {
+        return mapName.startsWith(PREFIX);
+    }
+
+    /**
+     * Generates the map described by the name, with textures.
+     * @param mapName the name of the form generated:seed:WIDTHxHEIGHT:portal,portal
+     * @return the generated TiledMap
+     * @throws GdxRuntimeException if the name is malformed
+     */
+    public static TiledMap load(String mapName) {
+        return load(mapName, true);
+    }
+
+    /**
+     * Generates the map described by the name.
+     * @param mapName the name of the form generated:seed:WIDTHxHEIGHT:portal,portal
+     * @param textured false to generate the tiles with empty regions, which 
+     * needs neither Resources nor a GL context
+     * @return the generated TiledMap
+     * @throws GdxRuntimeException if the name is malformed
+     */
+    public static TiledMap load(String mapName, boolean textured) {
+        String[] parts = mapName.substring(PREFIX.length()).split(":");
+        try {
+            String[] size = parts[1].split("x");
+            String[] portals = parts.length > 2 && !parts[2].isEmpty() ? parts[2].split(",") : new String[0];
+            return new AreaGenerator(Long.parseLong(parts[0]), Integer.parseInt(size[0]),
+                    Integer.parseInt(size[1]), portals).generate(textured);
+        } catch (RuntimeException e) {
+            throw new GdxRuntimeException("Malformed generated map name: " + mapName, e);
+        }
+    }
+
+    /**
+     * Returns the X-coordinate of spawn for the player in a generated map.
+     * @param map the generated TiledMap
+     * @return the X-coordinate of spawn
+     */
+    public static float getSpawnX(TiledMap map) {
+        return map.getProperties().get("spawnX", Float.class);
+    }
+
+    /**
+     * Returns the Y-coordinate of spawn for the player in a generated map.
+     * @param map the generated TiledMap
+     * @return the Y-coordinate of spawn
+     */
+    public static float getSpawnY(TiledMap map) {
+        return map.getProperties().get("spawnY", Float.class);
+    }
+
+    /**
+     * Generates the map with textures, see generate(boolean).
+     * @return the generated TiledMap
+     */
+    public TiledMap generate() {
+        return generate(true);
+    }
+
+    /**
+     * Generates the map. Blocks until the regions are generated, and the 
+     * portals are validated.
+     * @param textured false to generate the tiles with empty regions, which 
+     * needs neither Resources nor a GL context
+     * @return the generated TiledMap
+     */
+    public TiledMap generate(boolean textured) {
+        pool.invoke(new RegionTask(0, regionsX * regionsY));
+        int spawn = index(Math.min(REGION, width) / 2, Math.min(REGION, height) / 2);
+        int[] portals = placePortals(spawn);
+
+        Palette palette = new Palette(portalTypes, textured);
+        TiledMap map = new TiledMap();
+        map.getTileSets().addTileSet(palette.tileSet);
+        if (textured) {
+            map.setOwnedResources(palette.handles);
+            map.getProperties().put(Resources.SHARED_TEXTURES, true);
+        }
+        MapLayers layers = map.getLayers();
+        TiledMapTileLayer background = newLayer("background"), walls = newLayer("walls"),
+                shadows = newLayer("shadows"), portal = newLayer("Portal"), blocked = newLayer("BlockedAreas");
+        shadows.setOpacity(0.5f);
+        portal.setVisible(false);
+        blocked.setVisible(false);
+        layers.add(background);
+        layers.add(walls);
+        layers.add(shadows);
+        layers.add(portal);
+        layers.add(blocked);
+
+        pool.invoke(new LayerTask(0, height, palette, background, walls, shadows, blocked));
+        for (int i = 0; i < portals.length; i++) {
+            Cell cell = new Cell().setTile(palette.portals[i]);
+            int px = portals[i] % width, py = portals[i] / width;
+            for (int y = py - 1; y <= py + 1; y++) {
+                for (int x = px - 1; x <= px + 1; x++) {
+                    portal.setCell(x, y, cell);
+                }
+            }
+        }
+
+        map.getProperties().put("spawnX", (spawn % width + 0.5f) * TILE);
+        map.getProperties().put("spawnY", (spawn / width + 0.5f) * TILE);
+        return map;
+    }
+
+    private TiledMapTileLayer newLayer(String name) {
+        TiledMapTileLayer layer = new TiledMapTileLayer(width, height, TILE, TILE);
+        layer.setName(name);
+        return layer;
+    }
+
+    /**
+     * Generates a single region: fills it randomly, smooths it with a cellular
+     * automaton, and carves its corridors. Regions only write their own tiles.
+     */
+    private void generateRegion(int region) {
+        int x0 = (region % regionsX) * REGION, y0 = (region / regionsX) * REGION;
+        int x1 = Math.min(width, x0 + REGION), y1 = Math.min(height, y0 + REGION);
+        int w = x1 - x0, h = y1 - y0;
+        Random random = new Random(seed * 31 + region);
+
+        boolean[] cells = new boolean[w * h], next = new boolean[w * h];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = random.nextFloat() < WALL_CHANCE;
+        }
+        for (int step = 0; step < SMOOTHING_STEPS; step++) {
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    int walls = 0;
+                    for (int dy = -1; dy <= 1; dy++) {
+                        for (int dx = -1; dx <= 1; dx++) {
+                            int nx = x + dx, ny = y + dy;
+                            if (nx < 0 || ny < 0 || nx >= w || ny >= h || cells[ny * w + nx]) {
+                                walls++;
+                            }
+                        }
+                    }
+                    next[y * w + x] = walls >= 5;
+                }
+            }
+            boolean[] swap = cells;
+            cells = next;
+            next = swap;
+        }
+
+        int corridorX = w / 2, corridorY = h / 2;
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                boolean corridor = Math.abs(x - corridorX) <= 1 || Math.abs(y - corridorY) <= 1;
+                int gx = x0 + x, gy = y0 + y;
+                boolean border = gx == 0 || gy == 0 || gx == width - 1 || gy == height - 1;
+                solid[index(gx, gy)] = border || (cells[y * w + x] && !corridor);
+            }
+        }
+    }
+
+    /**
+     * Places the portals, and validates that the player can reach each of them
+     * from the spawn. Portals that are unreachable, next to the spawn or 
+     * overlapping a portal placed before are moved to random reachable tiles 
+     * away from the spawn and the other portals.
+     * @param spawn the index of the spawn tile
+     * @return the indices of the center tiles of the portals
+     * @throws GdxRuntimeException if there are not enough reachable tiles away 
+     * from the spawn and each other
+     */
+    private int[] placePortals(int spawn) {
+        boolean[] reachable = new boolean[width * height];
+        IntArray reached = new IntArray();
+        IntArray queue = new IntArray();
+        queue.add(spawn);
+        reachable[spawn] = true;
+        for (int head = 0; head < queue.size; head++) {
+            int tile = queue.get(head);
+            reached.add(tile);
+            int x = tile % width, y = tile / width;
+            int[] neighbours = {tile - 1, tile + 1, tile - width, tile + width};
+            boolean[] valid = {x > 0, x < width - 1, y > 0, y < height - 1};
+            for (int n = 0; n < 4; n++) {
+                if (valid[n] && !reachable[neighbours[n]] && isWalkable(neighbours[n])) {
+                    reachable[neighbours[n]] = true;
+                    queue.add(neighbours[n]);
+                }
+            }
+        }
+
+        IntArray candidates = new IntArray();
+        for (int i = 0; i < reached.size; i++) {
+            if (!isNear(reached.get(i), spawn)) {
+                candidates.add(reached.get(i));
+            }
+        }
+        int[] portals = new int[portalTypes.length];
+        Random random = new Random(seed);
+        for (int i = 0; i < portals.length; i++) {
+            int candidate = index(1 + random.nextInt(width - 2), 1 + random.nextInt(height - 2));
+            if (!reachable[candidate] || isNear(candidate, spawn) || isNear(candidate, portals, i)) {
+                if (candidates.size == 0) {
+                    throw new GdxRuntimeException("No reachable place for " + portals.length 
+                            + " portals away from the spawn and each other");
+                }
+                candidate = candidates.get(random.nextInt(candidates.size));
+            }
+            portals[i] = candidate;
+            for (int c = candidates.size - 1; c >= 0; c--) {
+                if (isNear(candidates.get(c), candidate)) {
+                    candidates.removeIndex(c);
+                }
+            }
+        }
+        return portals;
+    }
+
+    /**
+     * Checks whether the player can stand in the middle of the tile, that is 
+     * whether the tile and all its neighbours are open.
+     */
+    private boolean isWalkable(int tile) {
+        int x = tile % width, y = tile / width;
+        if (x < 1 || y < 1 || x >= width - 1 || y >= height - 1) {
+            return false;
+        }
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (solid[index(x + dx, y + dy)]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the 3x3 blocks around the tiles touch or overlap.
+     */
+    private boolean isNear(int a, int b) {
+        return Math.abs(a % width - b % width) <= 2 && Math.abs(a / width - b / width) <= 2;
+    }
+
+    private boolean isNear(int tile, int[] tiles, int count) {
+        for (int i = 0; i < count; i++) {
+            if (isNear(tile, tiles[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int index(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Generates a range of regions, splitting it while it is large.
+     */
+    private class RegionTask extends RecursiveAction {
+
+        private final int from, to;
+
+        private RegionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_REGIONS) {
+                for (int region = from; region < to; region++) {
+                    generateRegion(region);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RegionTask(from, middle), new RegionTask(middle, to));
+            }
+        }
+    }
+
+    /**
+     * Fills a range of rows of the layers, splitting it while it is large. The 
+     * cells of the same kind share a single Cell instance.
+     */
+    private class LayerTask extends RecursiveAction {
+
+        private final int from, to;
+        private final Palette palette;
+        private final TiledMapTileLayer background, walls, shadows, blocked;
+
+        private LayerTask(int from, int to, Palette palette, TiledMapTileLayer background,
+                TiledMapTileLayer walls, TiledMapTileLayer shadows, TiledMapTileLayer blocked) {
+            this.from = from;
+            this.to = to;
+            this.palette = palette;
+            this.background = background;
+            this.walls = walls;
+            this.shadows = shadows;
+            this.blocked = blocked;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= REGION) {
+                for (int y = from; y < to; y++) {
+                    for (int x = 0; x < width; x++) {
+                        background.setCell(x, y, palette.floorCell);
+                        if (solid[index(x, y)]) {
+                            walls.setCell(x, y, palette.wallCell);
+                            blocked.setCell(x, y, palette.blockedCell);
+                        } else if (y + 1 < height && solid[index(x, y + 1)]) {
+                            shadows.setCell(x, y, palette.shadowCell);
+                        }
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LayerTask(from, middle, palette, background, walls, shadows, blocked),
+                        new LayerTask(middle, to, palette, background, walls, shadows, blocked));
+            }
+        }
+    }
+
+    /**
+     * Tiles of a generated map, made of the textures of the hand-authored tilesets.
+     * Holds the handles of the textures, released when the map is disposed. 
+     * An untextured palette has tiles with empty regions, and holds no handles.
+     */
+    private static class Palette {
+
+        private final TiledMapTileSet tileSet = new TiledMapTileSet();
+        private final Array<Disposable> handles = new Array<Disposable>();
+        private final Cell floorCell, wallCell, shadowCell, blockedCell;
+        private final TiledMapTile[] portals;
+        private final boolean textured;
+
+        private Palette(String[] portalTypes, boolean textured) {
+            this.textured = textured;
+            tileSet.setName("generated");
+            floorCell = new Cell().setTile(tile(1, "tileset2.png"));
+            wallCell = new Cell().setTile(tile(2, "tileset3.png"));
+            shadowCell = new Cell().setTile(tile(3, "black.png"));
+            TiledMapTile blockedTile = tile(4, "pink.png");
+            blockedTile.getProperties().put("Blocked", "");
+            blockedCell = new Cell().setTile(blockedTile);
+            portals = new TiledMapTile[portalTypes.length];
+            for (int i = 0; i < portalTypes.length; i++) {
+                portals[i] = new StaticTiledMapTile(region("cyan.png"));
+                portals[i].setId(5 + i);
+                portals[i].getProperties().put("Portal", portalTypes[i]);
+                tileSet.putTile(5 + i, portals[i]);
+            }
+        }
+
+        private TiledMapTile tile(int id, String textureName) {
+            TiledMapTile tile = new StaticTiledMapTile(region(textureName));
+            tile.setId(id);
+            tileSet.putTile(id, tile);
+            return tile;
+        }
+
+        private TextureRegion region(String textureName) {
+            if (!textured) {
+                return new TextureRegion();
+            }
+            return new TextureRegion(texture(textureName), 0, 0, TILE, TILE);
+        }
+
+        private Texture texture(String name) {
+            final ResourceHandle<Texture> handle = Resources.acquireTexture(name);
+            handles.add(new Disposable() {
+                @Override
+                public void dispose() {
+                    handle.release();
+                }
+            });
+            return handle.get();
+        }
+    }
+}
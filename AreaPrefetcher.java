@@ -0,0 +1,106 @@
+package com.mygdx.game;
+
+/**
+ * Singleton class that builds the destination area of a portal before the 
+ * player actually crosses it. Implements lazy initialization design pattern. 
+ * Uses the PortalDetector of the World of the current PlayScreen to measure the
+ * distance to the nearest portal, and once the player is within the prefetch 
+ * radius, asks ScreenManager to prefetch the Screen the portal leads to. Crossing the portal is then only a swap of the 
+ * current Screen, rather than building the whole PlayScreen on that frame.
+ * 
+ * The map of the destination is first read and parsed in the background by 
+ * Resources, and its textures are created over the following frames. Only 
+ * once the map is ready, the PlayScreen is built on the rendering thread, as 
+ * its renderer creates GL resources. At most one area is built per frame.
+ * 
+ * Our contribution: 100%
+ */
+public class AreaPrefetcher {
+
+    /**
+     * The default prefetch radius in world units (three 64px tiles).
+     */
+    public static final float DEFAULT_RADIUS = 192;
+
+    private static AreaPrefetcher instance;
+    private float radius = DEFAULT_RADIUS;
+    private boolean enabled = true;
+
+    /**
+     * Private constructor that creates an instance of AreaPrefetcher.
+     */
+    private AreaPrefetcher() {}
+
+    /**
+     * Retrieves an instance of AreaPrefetcher. The method will always return 
+     * the same instance of AreaPrefetcher.
+     * 
+     * Postconditions:
+     * - AreaPrefetcher will remain instantiated, and accessible through this method.
+     * 
+     * @return a single instance of AreaPrefetcher
+     */
+    public static AreaPrefetcher getInstance() {
+        if (instance == null) {
+            instance = new AreaPrefetcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Advances the background loading of maps, checks the distance of the 
+     * player to the nearest portal and prefetches its destination if the 
+     * player is within the prefetch radius. 
+     * Should be invoked once per frame by the PlayScreen.
+     * 
+     * Preconditions:
+     * - the PortalDetector has to be provided with a Player and TiledMap.
+     * 
+     * @param detector the PortalDetector of the current map
+     */
+    public void update(PortalDetector detector) {
+        Resources.updateLoading();
+        if (!enabled) {
+            return;
+        }
+        if (detector.distanceToNearestPortal() > radius) {
+            return;
+        }
+        String destination = detector.getNearestDestination();
+        if (destination != null && !ScreenManager.getInstance().isPrefetched(destination)) {
+            ScreenManager.getInstance().prefetchArea(destination);
+        }
+    }
+
+    /**
+     * Sets the distance to the nearest portal, in world units, below which 
+     * the destination area is prefetched.
+     * 
+     * @param radius the desired prefetch radius
+     */
+    public void setRadius(float radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Returns the current prefetch radius.
+     * 
+     * @return the prefetch radius in world units
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Turns the prefetching on or off. When turned off, the prefetched Screen
+     * is discarded.
+     * 
+     * @param enabled true to enable prefetching
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            ScreenManager.getInstance().discardPrefetchedScreen();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Singleton registry of all the play areas of the game and the portals leading
+ * to them. Implements lazy initialization design pattern. The areas are declared
+ * in the "areas.txt" manifest in the assets directory, which is parsed on first
+ * use. The registry holds only AreaDefinitions indexed by their id, so maps are
+ * loaded, and PlayScreens are created, only for the areas actually visited.
+ * 
+ * The manifest consists of lines of whitespace separated values, with lines 
+ * starting with '#' being ignored:
+ * 
+ *     start  AREA_ONE
+ *     area   AREA_ONE  map.tmx  1200 960  768 640
+ *     portal 1_2       AREA_TWO
+ * 
+ * where an area line holds id, map file, camera width and height, and spawn 
+ * coordinates of the player ("auto" for maps built by AreaGenerator), and a portal line maps the value of the "Portal" 
+ * tile property to the id of the area it leads to. Each area also gets an index,
+ * given by the order of the area lines, to be used where the id is too long
+ * (e.g. in network packets).
+ * 
+ * Our contribution: 100%
+ */
+public class AreaRegistry {
+
+    private static final String MANIFEST = "areas.txt";
+
+    private static AreaRegistry instance;
+    private final ObjectMap<String, AreaDefinition> areas = new ObjectMap<String, AreaDefinition>();
+    private final ObjectMap<String, String> portals = new ObjectMap<String, String>();
+    private final Array<String> areaIds = new Array<String>();
+    private final ObjectIntMap<String> areaIndices = new ObjectIntMap<String>();
+    private String startArea;
+
+    /**
+     * Private constructor that creates an instance of AreaRegistry.
+     */
+    private AreaRegistry() {}
+
+    /**
+     * Retrieves an instance of AreaRegistry. The manifest is read when this 
+     * method is run for the first time.
+     * 
+     * Postconditions:
+     * - AreaRegistry will remain instantiated, and accessible through this method.
+     * 
+     * @return a single instance of AreaRegistry
+     */
+    public static AreaRegistry getInstance() {
+        if (instance == null) {
+            instance = new AreaRegistry();
+            instance.parse(Gdx.files.internal(MANIFEST).readString());
+        }
+        return instance;
+    }
+
+    /**
+     * Parses the content of the area manifest.
+     * 
+     * @param manifest the content of the manifest
+     * @throws GdxRuntimeException if the manifest is malformed
+     */
+    private void parse(String manifest) {
+        String[] lines = manifest.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] values = line.split("\\s+");
+            try {
+                if (values[0].equals("area") && values.length == 7) {
+                    if (areas.containsKey(values[1])) {
+                        throw new GdxRuntimeException("Duplicate area");
+                    }
+                    if ((values[5].equals("auto") || values[6].equals("auto"))
+                            && !AreaGenerator.isGenerated(values[2])) {
+                        throw new GdxRuntimeException("Spawn \"auto\" is only allowed for generated maps");
+                    }
+                    areaIndices.put(values[1], areaIds.size);
+                    areaIds.add(values[1]);
+                    areas.put(values[1], new AreaDefinition(values[1], values[2],
+                            Float.parseFloat(values[3]), Float.parseFloat(values[4]),
+                            parseSpawn(values[5]), parseSpawn(values[6])));
+                } else if (values[0].equals("portal") && values.length == 3) {
+                    portals.put(values[1], values[2]);
+                } else if (values[0].equals("start") && values.length == 2) {
+                    startArea = values[1];
+                } else {
+                    throw new GdxRuntimeException("Unknown entry");
+                }
+            } catch (RuntimeException e) {
+                throw new GdxRuntimeException(MANIFEST + ":" + (i + 1) + ": malformed line: " + line, e);
+            }
+        }
+        if (startArea == null || !areas.containsKey(startArea)) {
+            throw new GdxRuntimeException(MANIFEST + ": missing or unknown start area");
+        }
+    }
+
+    /**
+     * Parses a spawn coordinate, which can be "auto" for generated maps.
+     * 
+     * @param value the value from the manifest
+     * @return the coordinate, or NaN if it is taken from the map
+     */
+    private static float parseSpawn(String value) {
+        return value.equals("auto") ? Float.NaN : Float.parseFloat(value);
+    }
+
+    /**
+     * Returns the definition of the area with the given id.
+     * 
+     * @param id the id of the area
+     * @return the AreaDefinition of the area
+     * @throws GdxRuntimeException if there is no such area
+     */
+    public AreaDefinition getArea(String id) {
+        AreaDefinition area = areas.get(id);
+        if (area == null) {
+            throw new GdxRuntimeException("Unknown area: " + id);
+        }
+        return area;
+    }
+
+    /**
+     * Returns the index of the area with the given id.
+     * 
+     * @param id the id of the area
+     * @return the index of the area
+     * @throws GdxRuntimeException if there is no such area
+     */
+    public int getAreaIndex(String id) {
+        int index = areaIndices.get(id, -1);
+        if (index < 0) {
+            throw new GdxRuntimeException("Unknown area: " + id);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the id of the area with the given index.
+     * 
+     * @param index the index of the area
+     * @return the id of the area
+     * @throws GdxRuntimeException if there is no such area
+     */
+    public String getAreaId(int index) {
+        if (index < 0 || index >= areaIds.size) {
+            throw new GdxRuntimeException("Unknown area index: " + index);
+        }
+        return areaIds.get(index);
+    }
+
+    /**
+     * Returns the id of the area the portal of the given type leads to.
+     * 
+     * @param type the value of "Portal" property of the tile
+     * @return the id of the destination area, or null if the type is unknown
+     */
+    public String getPortalDestination(String type) {
+        return portals.get(type);
+    }
+
+    /**
+     * Returns the id of the area in which the game starts.
+     * 
+     * @return the id of the start area
+     */
+    public String getStartArea() {
+        return startArea;
+    }
+}
@@ -0,0 +1,261 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Bundle of pre-decoded textures built by the AssetBundler tool. The bundle file
+ * is memory-mapped, and the pixels of a texture are passed from the mapping 
+ * straight to glTexImage2D, so loading a texture neither decodes an image nor 
+ * copies its pixels to the heap. The textures are created without mipmaps.
+ * A bundle that is not a file on the file system, e.g. inside a jar or the 
+ * assets of an Android package, cannot be mapped, and is read into a direct 
+ * buffer instead.
+ * 
+ * The textures are managed: each keeps a view of its pixels, and is uploaded 
+ * again from it when the GL context is lost, e.g. on Android. The mapping, or
+ * the buffer, therefore stays in memory as long as any texture of the bundle.
+ * 
+ * This class uses disposable elements. Please remember to run dispose() when 
+ * the bundle is no longer needed to avoid memory leaks. Textures already 
+ * loaded from the bundle stay valid after it is disposed.
+ * 
+ * Our contribution: 100%
+ */
+public class AssetBundle implements Disposable {
+
+    /**
+     * The first int of a bundle file, "DMYB".
+     */
+    public static final int MAGIC = 0x444D5942;
+    /**
+     * The version of the bundle format, see AssetBundler.
+     */
+    public static final int VERSION = 1;
+
+    private final RandomAccessFile file;
+    private final ByteBuffer data;
+    private final ObjectMap<String, Entry> entries = new ObjectMap<String, Entry>();
+
+    /**
+     * Reads the index of the bundle.
+     * @param data the contents of the bundle
+     * @param file the mapped bundle file, or null if the bundle was read into memory
+     * @param name the name of the bundle
+     * @throws IOException if the data is not a bundle
+     */
+    private AssetBundle(ByteBuffer data, RandomAccessFile file, String name) throws IOException {
+        this.data = data;
+        this.file = file;
+        if (data.getInt() != MAGIC || data.getInt() != VERSION) {
+            throw new IOException("Not a texture bundle: " + name);
+        }
+        int count = data.getInt();
+        for (int i = 0; i < count; i++) {
+            String entryName = readUTF(data);
+            int width = data.getInt(), height = data.getInt();
+            long offset = data.getLong();
+            int length = data.getInt();
+            entries.put(entryName, new Entry(width, height, (int) offset, length));
+        }
+    }
+
+    /**
+     * Opens the bundle, if it exists. The bundle is memory-mapped if it is a 
+     * file on the file system, and read into memory otherwise.
+     * @param handle the bundle file
+     * @return the AssetBundle, or null if there is no such file
+     */
+    public static AssetBundle open(FileHandle handle) {
+        if (!handle.exists()) {
+            return null;
+        }
+        try {
+            File bundle = handle.type() == FileType.Classpath ? null : handle.file();
+            if (bundle != null && bundle.isFile()) {
+                return map(bundle);
+            }
+            Gdx.app.log("AssetBundle", "Cannot map " + handle.path() 
+                    + ", as it is not on the file system, reading it into memory");
+            byte[] bytes = handle.readBytes();
+            ByteBuffer data = ByteBuffer.allocateDirect(bytes.length);
+            data.put(bytes);
+            data.flip();
+            return new AssetBundle(data, null, handle.path());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot open texture bundle " + handle.path(), e);
+        }
+    }
+
+    /**
+     * Maps the bundle file and reads its index.
+     * @param bundle the bundle file
+     * @return the AssetBundle
+     * @throws IOException if the bundle cannot be read
+     */
+    private static AssetBundle map(File bundle) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(bundle, "r");
+        try {
+            ByteBuffer data = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+            return new AssetBundle(data, file, bundle.getPath());
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether the bundle holds the texture.
+     * @param name the file name of the texture
+     * @return true if the texture is bundled
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Uploads the bundled texture to the GPU.
+     * 
+     * Preconditions:
+     * - the texture has to be bundled
+     * 
+     * @param name the file name of the texture
+     * @return the new Texture
+     */
+    public Texture loadTexture(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new GdxRuntimeException("Texture not bundled: " + name);
+        }
+        ByteBuffer pixels = data.duplicate();
+        pixels.limit(entry.offset + entry.length);
+        pixels.position(entry.offset);
+        return new Texture(new RawTextureData(pixels.slice(), entry.width, entry.height));
+    }
+
+    private static String readUTF(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Utility method for closing the bundle file. Does not run automatically!
+     */
+    @Override
+    public void dispose() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Position and size of a single texture in the bundle.
+     */
+    private static class Entry {
+
+        private final int width, height, offset, length;
+
+        private Entry(int width, int height, int offset, int length) {
+            this.width = width;
+            this.height = height;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * TextureData uploading RGBA8888 pixels from a direct buffer. The buffer is
+     * kept, so that the texture can be reloaded after the GL context is lost.
+     */
+    private static class RawTextureData implements TextureData {
+
+        private final ByteBuffer pixels;
+        private final int width, height;
+
+        private RawTextureData(ByteBuffer pixels, int width, int height) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public TextureDataType getType() {
+            return TextureDataType.Custom;
+        }
+
+        @Override
+        public boolean isPrepared() {
+            return true;
+        }
+
+        @Override
+        public void prepare() {}
+
+        @Override
+        public Pixmap consumePixmap() {
+            throw new GdxRuntimeException("RawTextureData does not provide a Pixmap");
+        }
+
+        @Override
+        public boolean disposePixmap() {
+            return false;
+        }
+
+        @Override
+        public void consumeCustomData(int target) {
+            Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+            Gdx.gl.glTexImage2D(target, 0, GL20.GL_RGBA, width, height, 0,
+                    GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, pixels);
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public Pixmap.Format getFormat() {
+            return Pixmap.Format.RGBA8888;
+        }
+
+        @Override
+        public boolean useMipMaps() {
+            return false;
+        }
+
+        @Override
+        public boolean isManaged() {
+            return true;
+        }
+    }
+}
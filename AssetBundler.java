@@ -0,0 +1,111 @@
+package com.mygdx.game.tools;
+
+import com.mygdx.game.AssetBundle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+/**
+ * Build-time tool packing the PNG textures of the assets directory into a single
+ * bundle of pre-decoded pixels, to be read by AssetBundle. Decoding the images 
+ * at build time means the game only has to copy the pixels to the GPU.
+ * 
+ * Bundle layout (big-endian):
+ * 
+ *     int   magic ("DMYB")
+ *     int   version
+ *     int   number of textures
+ *     for each texture:
+ *       UTF   file name
+ *       int   width
+ *       int   height
+ *       long  offset of the pixels from the start of the bundle
+ *       int   length of the pixels in bytes
+ *     pixels of all textures, RGBA8888, top row first
+ * 
+ * Usage: AssetBundler [assets directory] [bundle file]
+ * 
+ * Our contribution: 100%
+ */
+public class AssetBundler {
+
+    public static void main(String[] arg) throws IOException {
+        File assets = new File(arg.length > 0 ? arg[0] : "assets");
+        File output = new File(arg.length > 1 ? arg[1] : new File(assets, "assets.bundle").getPath());
+
+        File[] files = assets.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.toLowerCase().endsWith(".png");
+            }
+        });
+        if (files == null) {
+            throw new IOException("Not a directory: " + assets);
+        }
+        Arrays.sort(files);
+
+        BufferedImage[] images = new BufferedImage[files.length];
+        for (int i = 0; i < files.length; i++) {
+            images[i] = ImageIO.read(files[i]);
+            if (images[i] == null) {
+                throw new IOException("Cannot decode " + files[i]);
+            }
+        }
+
+        long offset = writeHeader(files, images, 0).length;
+        byte[] header = writeHeader(files, images, offset);
+        long total = header.length;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)));
+        try {
+            out.write(header);
+            for (BufferedImage image : images) {
+                writePixels(image, out);
+                total += 4L * image.getWidth() * image.getHeight();
+            }
+        } finally {
+            out.close();
+        }
+        System.out.println(String.format("Bundled %d textures into %s (%d bytes)", files.length, output, total));
+    }
+
+    /**
+     * Serializes the header, with the pixels of the textures starting at the given offset.
+     */
+    private static byte[] writeHeader(File[] files, BufferedImage[] images, long dataOffset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(AssetBundle.MAGIC);
+        out.writeInt(AssetBundle.VERSION);
+        out.writeInt(files.length);
+        long offset = dataOffset;
+        for (int i = 0; i < files.length; i++) {
+            int length = 4 * images[i].getWidth() * images[i].getHeight();
+            out.writeUTF(files[i].getName());
+            out.writeInt(images[i].getWidth());
+            out.writeInt(images[i].getHeight());
+            out.writeLong(offset);
+            out.writeInt(length);
+            offset += length;
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static void writePixels(BufferedImage image, DataOutputStream out) throws IOException {
+        int width = image.getWidth();
+        int[] row = new int[width];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int argb : row) {
+                out.writeInt((argb << 8) | (argb >>> 24));
+            }
+        }
+    }
+}
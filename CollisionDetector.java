@@ -5,40 +5,23 @@ import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
 
 /**
- * Singleton class for detecting players collision with map objects. Implements lazy 
- * initialization design pattern. Uses nodes defined in Player class to determine 
- * whether the cell that player is about to enter is blocked. The class must be 
- * provided with a Player and TiledMap instances through its utility methods first. 
+ * Class for detecting collisions with map objects. Each World creates its own 
+ * instance. PhysicsBodies test the nodes of the moving bodies, laid out as the 
+ * nodes defined in Player class, with isCellBlocked(float, float) to determine 
+ * whether the cell that a body is about to enter is blocked. The class must be
+ * provided with a TiledMap instance through its utility method first. 
  * The collision layer of the TiledMap must be called "BlockedAreas".
  * 
  * Our contribution: 100%
  */
 public class CollisionDetector {
 
-    private static CollisionDetector instance;
     private TiledMapTileLayer collisionLayer;
-    private Player player;
     
     /**
-     * Private constructor that creates an instance of CollisionDetector.
+     * Constructor that creates a new instance of CollisionDetector.
      */
-    private CollisionDetector() {}
-    
-    /**
-     * Retrieves an instance of CollisionDetector. The method will always return 
-     * the same instance of CollisionDetector.
-     * 
-     * Postconditions:
-     * - CollisionDetector will remain instantiated, and accessible through this method.
-     * 
-     * @return a single instance of CollisionDetector
-     */
-    public static CollisionDetector getInstance() {
-        if (instance == null) {
-            instance = new CollisionDetector();
-        }
-        return instance;
-    }
+    public CollisionDetector() {}
     
     /**
      * Utility method for providing the CollisionDetector with a TiledMap map from 
@@ -59,34 +42,27 @@ public class CollisionDetector {
     }
     
     /**
-     * Utility method for setting up the player from which to extract the nodes.
-     * @param player the desired Player instance
+     * Returns the width of the tiles of the collision layer.
+     * 
+     * Precondition:
+     * - CollisionDetector has to be provided with a TiledMap using utility methods.
+     * 
+     * @return the tile width in world units
      */
-    public void setPlayer(Player player) {
-        this.player = player;
+    public float getTileWidth() {
+        return collisionLayer.getTileWidth();
     }
 
     /**
-     * Checks for the collision of the player with the map. The method extracts 
-     * coordinates of the Player nodes and makes a check for each, using 
-     * isCellBlocked(float x, float y) method.
+     * Returns the height of the tiles of the collision layer.
      * 
-     * Preconditions:
-     * - CollisionDetector has to be provided with a Player and TiledMap using utility methods.
-     * - nodes in Player class have to be updated.
+     * Precondition:
+     * - CollisionDetector has to be provided with a TiledMap using utility methods.
      * 
-     * @return true if at least one node is inside a blocked tile
+     * @return the tile height in world units
      */
-    public boolean checkMapCollision() {
-        for (int i = 0; i < player.nodes.length; i++) {
-            float vertX = player.nodes[i][0];
-            float vertY = player.nodes[i][1];
-
-            if (isCellBlocked(vertX, vertY)) {
-                return true;
-            }
-        }
-        return false;
+    public float getTileHeight() {
+        return collisionLayer.getTileHeight();
     }
 
     /**
@@ -102,7 +78,7 @@ public class CollisionDetector {
      * @return true if the tile has a property "Blocked" and if there was no 
      * tile/cell detected under given coordinates
      */
-    private boolean isCellBlocked(float posX, float posY) {
+    public boolean isCellBlocked(float posX, float posY) {
         Cell cell = collisionLayer.getCell(
                 (int) (posX / collisionLayer.getTileWidth()),
                 (int) (posY / collisionLayer.getTileHeight()));
@@ -4,11 +4,31 @@ import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.mygdx.game.GameCore;
+import com.mygdx.game.LatencyMonitor;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
 
 /**
  * Desktop launcher class for the game. Contains a main class for the game, in 
  * which the configuration object is being instantiated to configure the game.
  * 
+ * Options:
+ * --no-vsync         turns off vertical synchronization and caps the frame rate at
+ *                    60 frames per second instead; the input is sampled at the start
+ *                    of every frame either way (see PlayScreen.render(float))
+ * --measure-latency  logs the time between input events and the frames reflecting them
+ * --pixel-perfect    renders play areas into a low-resolution target scaled up by an
+ *                    integer factor, so the cost does not grow with the window size
+ * --jfr[=file]       records a flight recording of the session, with the events of
+ *                    the game and allocation sampling, into dimey.jfr or the given
+ *                    file; summarize it with the JfrAnalyzer tool
+ * 
  * Our contribution: 0%
  */
 public class DesktopLauncher {  
@@ -19,6 +39,21 @@ public class DesktopLauncher {
         config.height = 640;
         
         config.title = "Dimey";
+
+        List<String> options = Arrays.asList(arg);
+        if (options.contains("--no-vsync")) {
+            config.vSyncEnabled = false;
+            config.foregroundFPS = 60;
+        }
+        LatencyMonitor.getInstance().setEnabled(options.contains("--measure-latency"));
+        GameCore.getInstance().setPixelPerfect(options.contains("--pixel-perfect"));
+        for (String option : options) {
+            if (option.equals("--jfr")) {
+                startRecording("dimey.jfr");
+            } else if (option.startsWith("--jfr=")) {
+                startRecording(option.substring("--jfr=".length()));
+            }
+        }
         
         config.addIcon("icon16x16.png", FileType.Classpath);
         config.addIcon("icon32x32.png", FileType.Classpath);
@@ -27,4 +62,38 @@ public class DesktopLauncher {
  
         new LwjglApplication(GameCore.getInstance(), config);
     }
+
+    /**
+     * Starts a flight recording with the "profile" settings, which include 
+     * allocation sampling, and all events of the game. The recording is written
+     * to the file when the JVM exits.
+     * 
+     * @param file the file the recording is written to
+     */
+    private static void startRecording(String file) {
+        final Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setDestination(Paths.get(file));
+        } catch (IOException | ParseException e) {
+            System.err.println("Cannot start the flight recording: " + e.getMessage());
+            return;
+        }
+        recording.setName("Dimey");
+        recording.enable("dimey.Frame");
+        recording.enable("dimey.ScreenTransition");
+        recording.enable("dimey.AssetLoad");
+        recording.enable("dimey.DimensionSwitch");
+        recording.enable("dimey.CollisionPass");
+        recording.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                if (recording.getState() == RecordingState.RUNNING) {
+                    recording.stop();
+                }
+                recording.close();
+            }
+        }));
+    }
 }
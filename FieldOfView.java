@@ -0,0 +1,208 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.utils.Bits;
+
+/**
+ * Field of view of the player over the tile grid of a map. Keeps two sets of 
+ * tiles: the ones the player can see at the moment, and the ones the player has
+ * ever seen. Visibility is computed with recursive shadowcasting, with the tiles
+ * of the "BlockedAreas" layer blocking the sight, and is only recomputed when 
+ * the player enters a different tile. A recomputation clears and scans only the
+ * square of the view radius around the player, so its cost depends on the 
+ * radius, not on the size of the map.
+ * 
+ * The FieldOfView of a map is stored in its properties, so the tiles seen are
+ * remembered for as long as the map stays loaded.
+ * 
+ * Our contribution: 100%
+ */
+public class FieldOfView {
+
+    /**
+     * The default view radius in tiles.
+     */
+    public static final int DEFAULT_RADIUS = 8;
+
+    private static final String PROPERTY = "FieldOfView";
+    private static final int[][] OCTANTS = {
+        {1, 0, 0, -1, -1, 0, 0, 1},
+        {0, 1, -1, 0, 0, -1, 1, 0},
+        {0, 1, 1, 0, 0, -1, -1, 0},
+        {1, 0, 0, 1, -1, 0, 0, -1}
+    };
+
+    private final int width, height;
+    private final float tileWidth, tileHeight;
+    private final Bits blocked, visible, seen;
+    private int radius = DEFAULT_RADIUS;
+    private int originX = -1, originY = -1;
+
+    /**
+     * Creates an instance of FieldOfView for the map.
+     * @param map the desired TiledMap, with a collision layer called "BlockedAreas"
+     */
+    private FieldOfView(TiledMap map) {
+        TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get("BlockedAreas");
+        width = layer.getWidth();
+        height = layer.getHeight();
+        tileWidth = layer.getTileWidth();
+        tileHeight = layer.getTileHeight();
+        blocked = new Bits(width * height);
+        visible = new Bits(width * height);
+        seen = new Bits(width * height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Cell cell = layer.getCell(x, y);
+                if (cell != null
+                        && cell.getTile() != null
+                        && cell.getTile().getProperties().containsKey("Blocked")) {
+                    blocked.set(y * width + x);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the FieldOfView of the map, creating it on first use.
+     * @param map the desired TiledMap
+     * @return the FieldOfView of the map
+     */
+    public static FieldOfView get(TiledMap map) {
+        FieldOfView fieldOfView = map.getProperties().get(PROPERTY, FieldOfView.class);
+        if (fieldOfView == null) {
+            fieldOfView = new FieldOfView(map);
+            map.getProperties().put(PROPERTY, fieldOfView);
+        }
+        return fieldOfView;
+    }
+
+    /**
+     * Updates the visible tiles for the position of the player. Does nothing 
+     * if the player is still on the same tile as during the last update.
+     * @param posX the X-position of the player
+     * @param posY the Y-position of the player
+     * @return true if the visible tiles were recomputed
+     */
+    public boolean update(float posX, float posY) {
+        int tileX = (int) (posX / tileWidth), tileY = (int) (posY / tileHeight);
+        if (tileX == originX && tileY == originY) {
+            return false;
+        }
+        clearVisible();
+        originX = tileX;
+        originY = tileY;
+        reveal(tileX, tileY);
+        for (int octant = 0; octant < 8; octant++) {
+            castLight(1, 1, 0, OCTANTS[0][octant], OCTANTS[1][octant],
+                    OCTANTS[2][octant], OCTANTS[3][octant]);
+        }
+        return true;
+    }
+
+    /**
+     * Clears the visible tiles around the previous origin.
+     */
+    private void clearVisible() {
+        if (originX < 0) {
+            return;
+        }
+        for (int y = Math.max(0, originY - radius); y <= Math.min(height - 1, originY + radius); y++) {
+            int row = y * width;
+            for (int x = Math.max(0, originX - radius); x <= Math.min(width - 1, originX + radius); x++) {
+                visible.clear(row + x);
+            }
+        }
+    }
+
+    /**
+     * Scans a single octant row by row, starting at the given row, between 
+     * the given slopes. Each blocking tile narrows the scanned range, and the 
+     * part of the range behind it is scanned recursively.
+     */
+    private void castLight(int row, float start, float end, int xx, int xy, int yx, int yy) {
+        if (start < end) {
+            return;
+        }
+        int radius2 = radius * radius;
+        float newStart = 0;
+        for (int j = row; j <= radius; j++) {
+            int dy = -j;
+            boolean blocking = false;
+            for (int dx = -j; dx <= 0; dx++) {
+                int x = originX + dx * xx + dy * xy;
+                int y = originY + dx * yx + dy * yy;
+                float leftSlope = (dx - 0.5f) / (dy + 0.5f);
+                float rightSlope = (dx + 0.5f) / (dy - 0.5f);
+                if (start < rightSlope) {
+                    continue;
+                } else if (end > leftSlope) {
+                    break;
+                }
+                if (dx * dx + dy * dy <= radius2) {
+                    reveal(x, y);
+                }
+                boolean opaque = isOpaque(x, y);
+                if (blocking) {
+                    if (opaque) {
+                        newStart = rightSlope;
+                    } else {
+                        blocking = false;
+                        start = newStart;
+                    }
+                } else if (opaque && j < radius) {
+                    blocking = true;
+                    castLight(j + 1, start, leftSlope, xx, xy, yx, yy);
+                    newStart = rightSlope;
+                }
+            }
+            if (blocking) {
+                break;
+            }
+        }
+    }
+
+    private void reveal(int x, int y) {
+        if (x >= 0 && y >= 0 && x < width && y < height) {
+            visible.set(y * width + x);
+            seen.set(y * width + x);
+        }
+    }
+
+    private boolean isOpaque(int x, int y) {
+        return x < 0 || y < 0 || x >= width || y >= height || blocked.get(y * width + x);
+    }
+
+    /**
+     * Checks whether the tile is visible by the player at the moment.
+     * @param x the column of the tile
+     * @param y the row of the tile
+     * @return true if the tile is visible
+     */
+    public boolean isVisible(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && visible.get(y * width + x);
+    }
+
+    /**
+     * Checks whether the tile has ever been seen by the player.
+     * @param x the column of the tile
+     * @param y the row of the tile
+     * @return true if the tile has been seen
+     */
+    public boolean isSeen(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && seen.get(y * width + x);
+    }
+
+    /**
+     * Sets the view radius. Takes effect on the next update.
+     * @param radius the desired radius in tiles
+     */
+    public void setRadius(int radius) {
+        clearVisible();
+        this.radius = radius;
+        originX = -1;
+        originY = -1;
+    }
+}
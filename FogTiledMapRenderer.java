@@ -0,0 +1,84 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+
+/**
+ * Map renderer hiding the tiles the player has not seen yet. Tiles that are 
+ * not visible at the moment, but have been seen before, are drawn darkened. 
+ * The unseen tiles are skipped entirely, so they cost nothing to render.
+ * The visibility of tiles is taken from the FieldOfView of the map.
+ * 
+ * Our contribution: 100%
+ */
+public class FogTiledMapRenderer extends OrthogonalTiledMapRenderer {
+
+    private static final float REMEMBERED_BRIGHTNESS = 0.4f;
+
+    private final FieldOfView fieldOfView;
+    private final Color color = new Color();
+
+    /**
+     * Creates an instance of FogTiledMapRenderer.
+     * @param map the desired TiledMap
+     * @param batch the batch to render the map with
+     * @param fieldOfView the FieldOfView of the map
+     */
+    public FogTiledMapRenderer(TiledMap map, Batch batch, FieldOfView fieldOfView) {
+        super(map, batch);
+        this.fieldOfView = fieldOfView;
+    }
+
+    /**
+     * Renders the seen tiles of the layer that are inside the view bounds.
+     * @param layer the desired layer
+     */
+    @Override
+    public void renderTileLayer(TiledMapTileLayer layer) {
+        Color batchColor = batch.getColor();
+        float r = batchColor.r, g = batchColor.g, b = batchColor.b, alpha = batchColor.a;
+        float a = alpha * layer.getOpacity();
+
+        float tileWidth = layer.getTileWidth() * unitScale;
+        float tileHeight = layer.getTileHeight() * unitScale;
+        int col1 = Math.max(0, (int) (viewBounds.x / tileWidth));
+        int col2 = Math.min(layer.getWidth(), (int) ((viewBounds.x + viewBounds.width + tileWidth) / tileWidth));
+        int row1 = Math.max(0, (int) (viewBounds.y / tileHeight));
+        int row2 = Math.min(layer.getHeight(), (int) ((viewBounds.y + viewBounds.height + tileHeight) / tileHeight));
+
+        for (int row = row1; row < row2; row++) {
+            for (int col = col1; col < col2; col++) {
+                if (!fieldOfView.isSeen(col, row)) {
+                    continue;
+                }
+                Cell cell = layer.getCell(col, row);
+                if (cell == null || cell.getTile() == null) {
+                    continue;
+                }
+                float brightness = fieldOfView.isVisible(col, row) ? 1 : REMEMBERED_BRIGHTNESS;
+                batch.setColor(color.set(r * brightness, g * brightness, b * brightness, a));
+
+                TiledMapTile tile = cell.getTile();
+                TextureRegion region = tile.getTextureRegion();
+                float x = col * tileWidth + tile.getOffsetX() * unitScale;
+                float y = row * tileHeight + tile.getOffsetY() * unitScale;
+                float width = region.getRegionWidth() * unitScale;
+                float height = region.getRegionHeight() * unitScale;
+                if (cell.getFlipHorizontally() || cell.getFlipVertically() || cell.getRotation() != 0) {
+                    batch.draw(region, x, y, width / 2, height / 2, width, height,
+                            cell.getFlipHorizontally() ? -1 : 1, cell.getFlipVertically() ? -1 : 1,
+                            cell.getRotation() * 90);
+                } else {
+                    batch.draw(region, x, y, width, height);
+                }
+            }
+        }
+        batch.setColor(r, g, b, alpha);
+    }
+}
@@ -17,18 +17,29 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 public class GameCore extends Game {
 
     private static final GameCore instance = new GameCore();
+    private static final int BATCH_SIZE = 8191;
+    private static final int PARTICLE_CAPACITY = 65536;
     /**
      * An object used to batch the 2D drawing commands and optimize them for 
      * processing by the GPU. To draw something using batch, one has to call
      * begin() method first, specify drawing commands, and then invoke end()
      * method which will perform drawing. SpriteBatch is a heavy object, therefore
-     * it should be instantiated only once.
+     * it should be instantiated only once. It is sized for the largest number of
+     * sprites per draw call, so that many actors sharing a texture need a single flush.
      */
     public SpriteBatch batch;
     /**
      * An object used to render bitmap fonts.
      */
     public BitmapFont font;
+    /**
+     * Particles of the visual effects of the game, shared by all the Screens.
+     */
+    public ParticleSystem particles;
+    private PixelRenderTarget renderTarget;
+    private boolean pixelPerfect;
+    private final GameEvents.Frame frameEvent = new GameEvents.Frame();
+    private long lastFrameStart;
     
     /**
      * Private constructor that creates an instance of GameCore.
@@ -50,20 +61,64 @@ public class GameCore extends Game {
      */
     @Override
     public void create() {
-        batch = new SpriteBatch();
+        batch = new SpriteBatch(BATCH_SIZE);
         font = new BitmapFont();
+        particles = new ParticleSystem(PARTICLE_CAPACITY);
         Resources.load();
         ScreenManager.getInstance().init(this);
         ScreenManager.getInstance().showScreen(ScreenEnum.MAIN_MENU);
     }
     
     /**
-     * An obligatory method for rendering the screen in libGDX.
+     * An obligatory method for rendering the screen in libGDX. Also advances
+     * the AnimationClock shared by all animations, and reports both the CPU time 
+     * spent rendering the frame and the time since the previous frame to the 
+     * QualityGovernor. A single Frame event is reused for all the frames, so 
+     * that profiling does not allocate on every frame.
      */
     @Override
     public void render() {
+        GameEvents.Frame event = frameEvent;
+        event.begin();
+        long start = System.nanoTime();
+        float interval = lastFrameStart == 0 ? 0 : (start - lastFrameStart) / 1e9f;
+        lastFrameStart = start;
+        AnimationClock.advance(Gdx.graphics.getDeltaTime());
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         super.render();
+        QualityGovernor.getInstance().frame((System.nanoTime() - start) / 1e9f, interval);
+        event.end();
+        if (event.shouldCommit()) {
+            event.screen = screen == null ? null : screen.getClass().getSimpleName();
+            event.qualityLevel = QualityGovernor.getInstance().getLevel();
+            event.particles = particles.getCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * Turns the low-resolution render target for play areas on or off 
+     * (see PixelRenderTarget).
+     * @param pixelPerfect true to render play areas through the render target
+     */
+    public void setPixelPerfect(boolean pixelPerfect) {
+        this.pixelPerfect = pixelPerfect;
+        if (!pixelPerfect && renderTarget != null) {
+            renderTarget.dispose();
+            renderTarget = null;
+        }
+    }
+
+    /**
+     * Returns the render target for play areas, creating it on first use.
+     * Has to be called from the rendering thread.
+     * @return the PixelRenderTarget, or null if the mode is turned off
+     */
+    public PixelRenderTarget getRenderTarget() {
+        if (pixelPerfect && renderTarget == null) {
+            renderTarget = new PixelRenderTarget();
+        }
+        return renderTarget;
     }
 
     /**
@@ -80,6 +135,9 @@ public class GameCore extends Game {
     public void dispose() {
         batch.dispose();
         font.dispose();
+        if (renderTarget != null) {
+            renderTarget.dispose();
+        }
         Resources.dispose();
     }
 }
@@ -0,0 +1,99 @@
+package com.mygdx.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of the game. The events cost next to nothing when
+ * no recording is running, so they are always emitted. The duration of each 
+ * event is measured between its begin() and commit() calls.
+ * The recording can be started with the --jfr option of the DesktopLauncher, 
+ * and summarized with the JfrAnalyzer tool.
+ * 
+ * Our contribution: 100%
+ */
+public final class GameEvents {
+
+    /**
+     * Private constructor, the class only groups the event types.
+     */
+    private GameEvents() {}
+
+    @Name("dimey.Frame")
+    @Label("Frame")
+    @Category("Dimey")
+    @Description("A single frame rendered by GameCore")
+    @StackTrace(false)
+    public static class Frame extends Event {
+
+        @Label("Screen")
+        public String screen;
+
+        @Label("Quality Level")
+        public int qualityLevel;
+
+        @Label("Particles")
+        public int particles;
+    }
+
+    @Name("dimey.ScreenTransition")
+    @Label("Screen Transition")
+    @Category("Dimey")
+    @Description("A change of the current Screen by ScreenManager")
+    @StackTrace(false)
+    public static class ScreenTransition extends Event {
+
+        @Label("Target")
+        public String target;
+
+        @Label("Prefetched")
+        public boolean prefetched;
+    }
+
+    @Name("dimey.AssetLoad")
+    @Label("Asset Load")
+    @Category("Dimey")
+    @Description("Loading of assets by Resources")
+    @StackTrace(false)
+    public static class AssetLoad extends Event {
+
+        @Label("Asset")
+        public String asset;
+
+        @Label("Estimated Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("dimey.DimensionSwitch")
+    @Label("Dimension Switch")
+    @Category("Dimey")
+    @Description("A switch between the 2D and 3D modes")
+    @StackTrace(false)
+    public static class DimensionSwitch extends Event {
+
+        @Label("Third Dimension")
+        public boolean thirdDimension;
+    }
+
+    @Name("dimey.CollisionPass")
+    @Label("Collision Pass")
+    @Category("Dimey")
+    @Description("A check of the player nodes against the collision layer")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class CollisionPass extends Event {
+
+        @Label("Nodes Checked")
+        public int nodes;
+
+        @Label("Collided")
+        public boolean collided;
+    }
+}
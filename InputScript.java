@@ -0,0 +1,99 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import java.util.Random;
+
+/**
+ * Source of the input driving a World simulated without a keyboard. Provides the
+ * bit mask of PlayerInput flags for each step of the simulation.
+ * 
+ * Our contribution: 100%
+ */
+public interface InputScript {
+
+    /**
+     * Returns the input for the given step.
+     * @param tick the number of the step
+     * @return the bit mask of PlayerInput flags
+     */
+    int inputAt(long tick);
+
+    /**
+     * Replays a recorded sequence of inputs, looping it when it runs out.
+     */
+    class Recorded implements InputScript {
+
+        private final int[] inputs;
+
+        /**
+         * Creates an instance of Recorded.
+         * @param inputs the recorded inputs, one per step
+         */
+        public Recorded(int[] inputs) {
+            if (inputs.length == 0) {
+                throw new GdxRuntimeException("Empty input recording");
+            }
+            this.inputs = inputs;
+        }
+
+        /**
+         * Loads a recording, in which the inputs of the following steps are 
+         * written as whitespace separated integers.
+         * @param file the desired recording
+         * @return the Recorded input of the file
+         */
+        public static Recorded load(FileHandle file) {
+            IntArray inputs = new IntArray();
+            for (String value : file.readString().trim().split("\\s+")) {
+                try {
+                    inputs.add(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new GdxRuntimeException("Malformed input recording: " + file.path(), e);
+                }
+            }
+            return new Recorded(inputs.toArray());
+        }
+
+        @Override
+        public int inputAt(long tick) {
+            return inputs[(int) (tick % inputs.length)];
+        }
+    }
+
+    /**
+     * Walks in a random direction, picking a new one every few steps, and 
+     * switching the dimension from time to time. The walk is determined by its seed.
+     */
+    class RandomWalk implements InputScript {
+
+        private static final int DIRECTIONS = PlayerInput.UP_FLAG | PlayerInput.DOWN_FLAG
+                | PlayerInput.RIGHT_FLAG | PlayerInput.LEFT_FLAG;
+
+        private final Random random;
+        private final int stepsPerDirection;
+        private int current;
+
+        /**
+         * Creates an instance of RandomWalk.
+         * @param seed the seed of the walk
+         * @param stepsPerDirection the number of steps before a new direction is picked
+         */
+        public RandomWalk(long seed, int stepsPerDirection) {
+            this.random = new Random(seed);
+            this.stepsPerDirection = stepsPerDirection;
+        }
+
+        @Override
+        public int inputAt(long tick) {
+            if (tick % stepsPerDirection == 0) {
+                current = random.nextInt(DIRECTIONS + 1);
+                if (random.nextInt(16) == 0) {
+                    current |= PlayerInput.SWITCH_FLAG;
+                }
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.mygdx.game.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tool summarizing a flight recording of the game, as made with the --jfr option
+ * of the DesktopLauncher. Prints a histogram and the percentiles of the frame
+ * times, the count and total duration of the other events of the game, and the
+ * sites allocating the most memory.
+ *
+ * Usage: JfrAnalyzer [recording file] [number of allocation sites]
+ *
+ * Our contribution: 100%
+ */
+public class JfrAnalyzer {
+
+    /**
+     * Upper bounds of the buckets of the frame time histogram, in milliseconds.
+     */
+    private static final double[] BUCKETS = {4, 8, 16.7, 33.3, 50, Double.MAX_VALUE};
+
+    public static void main(String[] arg) throws IOException {
+        File file = new File(arg.length > 0 ? arg[0] : "dimey.jfr");
+        int sites = arg.length > 1 ? Integer.parseInt(arg[1]) : 10;
+
+        List<Double> frames = new ArrayList<Double>();
+        Map<String, long[]> events = new HashMap<String, long[]>();
+        Map<String, Long> allocations = new HashMap<String, Long>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+            String name = event.getEventType().getName();
+            if (name.equals("dimey.Frame")) {
+                frames.add(event.getDuration().toNanos() / 1e6);
+            } else if (name.startsWith("dimey.")) {
+                long[] stats = events.get(name);
+                if (stats == null) {
+                    stats = new long[2];
+                    events.put(name, stats);
+                }
+                stats[0]++;
+                stats[1] += event.getDuration().toNanos();
+            } else if (name.equals("jdk.ObjectAllocationSample")) {
+                addAllocation(allocations, event, event.getLong("weight"));
+            } else if (name.equals("jdk.ObjectAllocationInNewTLAB")) {
+                addAllocation(allocations, event, event.getLong("tlabSize"));
+            } else if (name.equals("jdk.ObjectAllocationOutsideTLAB")) {
+                addAllocation(allocations, event, event.getLong("allocationSize"));
+            }
+        }
+
+        printFrames(frames);
+        System.out.println();
+        printEvents(events);
+        System.out.println();
+        printAllocations(allocations, sites);
+    }
+
+    private static void printFrames(List<Double> frames) {
+        System.out.println(String.format("Frames: %d", frames.size()));
+        if (frames.isEmpty()) {
+            return;
+        }
+        Collections.sort(frames);
+        int[] counts = new int[BUCKETS.length];
+        for (double frame : frames) {
+            int bucket = 0;
+            while (frame > BUCKETS[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        double lower = 0;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            String range = BUCKETS[i] == Double.MAX_VALUE
+                    ? String.format("> %.1f ms", lower)
+                    : String.format("%.1f - %.1f ms", lower, BUCKETS[i]);
+            double share = 100.0 * counts[i] / frames.size();
+            System.out.println(String.format("  %-16s %7d %6.2f%% %s", range, counts[i], share, bar(share)));
+            lower = BUCKETS[i];
+        }
+        System.out.println(String.format("  p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms",
+                percentile(frames, 0.50), percentile(frames, 0.95), percentile(frames, 0.99),
+                frames.get(frames.size() - 1)));
+    }
+
+    private static void printEvents(Map<String, long[]> events) {
+        System.out.println("Events:");
+        String[] names = events.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        for (String name : names) {
+            long[] stats = events.get(name);
+            System.out.println(String.format("  %-24s %7d  total %10.2f ms  mean %8.3f ms",
+                    name, stats[0], stats[1] / 1e6, stats[1] / 1e6 / stats[0]));
+        }
+    }
+
+    private static void printAllocations(final Map<String, Long> allocations, int sites) {
+        long total = 0;
+        for (long bytes : allocations.values()) {
+            total += bytes;
+        }
+        System.out.println(String.format("Top allocation sites (%d MB sampled):", total >> 20));
+        List<String> keys = new ArrayList<String>(allocations.keySet());
+        Collections.sort(keys, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                return Long.compare(allocations.get(b), allocations.get(a));
+            }
+        });
+        for (String key : keys.subList(0, Math.min(sites, keys.size()))) {
+            long bytes = allocations.get(key);
+            System.out.println(String.format("  %6.2f%% %10d KB  %s", 100.0 * bytes / total, bytes >> 10, key));
+        }
+    }
+
+    /**
+     * Adds the allocated bytes to the site of the event, being the allocated class
+     * and the topmost frame of the stack trace.
+     */
+    private static void addAllocation(Map<String, Long> allocations, RecordedEvent event, long bytes) {
+        String site = event.getClass("objectClass").getName();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null && !stackTrace.getFrames().isEmpty()) {
+            RecordedFrame frame = stackTrace.getFrames().get(0);
+            site += " at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber();
+        }
+        Long previous = allocations.get(site);
+        allocations.put(site, previous == null ? bytes : previous + bytes);
+    }
+
+    private static double percentile(List<Double> sorted, double p) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) (p * sorted.size())));
+    }
+
+    private static String bar(double share) {
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < share / 2; i++) {
+            bar.append('#');
+        }
+        return bar.toString();
+    }
+}
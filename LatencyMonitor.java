@@ -0,0 +1,105 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Singleton class measuring the input-to-photon latency of the game. Implements 
+ * lazy initialization design pattern. When enabled, every input event is 
+ * timestamped as it arrives, and the end of the first frame rendered after the 
+ * event is taken as the moment the event is reflected on the screen. To include 
+ * the work of the GPU, the monitor waits for it to finish that frame, which 
+ * itself costs performance, therefore the monitor is disabled by default.
+ * 
+ * The latencies are summarized and logged every REPORT_INTERVAL samples.
+ * 
+ * Our contribution: 100%
+ */
+public class LatencyMonitor {
+
+    private static final int REPORT_INTERVAL = 120;
+
+    private static LatencyMonitor instance;
+    private boolean enabled;
+    private long pendingEvent = -1;
+    private final long[] samples = new long[REPORT_INTERVAL];
+    private int sampleCount;
+
+    /**
+     * Private constructor that creates an instance of LatencyMonitor.
+     */
+    private LatencyMonitor() {}
+
+    /**
+     * Retrieves an instance of LatencyMonitor. The method will always return 
+     * the same instance of LatencyMonitor.
+     * 
+     * Postconditions:
+     * - LatencyMonitor will remain instantiated, and accessible through this method.
+     * 
+     * @return a single instance of LatencyMonitor
+     */
+    public static LatencyMonitor getInstance() {
+        if (instance == null) {
+            instance = new LatencyMonitor();
+        }
+        return instance;
+    }
+
+    /**
+     * Turns the measurement on or off.
+     * @param enabled true to measure the latency
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        pendingEvent = -1;
+        sampleCount = 0;
+    }
+
+    /**
+     * Checks whether the measurement is turned on.
+     * @return true if the latency is measured
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Timestamps an input event. Should be invoked by input processors as soon
+     * as the event arrives. Only the oldest event not yet reflected on the 
+     * screen is kept.
+     */
+    public void inputEvent() {
+        if (enabled && pendingEvent < 0) {
+            pendingEvent = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of the frame reflecting the pending input event, if there
+     * is one. Should be invoked once per frame, after all the rendering calls.
+     */
+    public void framePresented() {
+        if (!enabled || pendingEvent < 0) {
+            return;
+        }
+        Gdx.gl.glFinish();
+        samples[sampleCount++] = System.nanoTime() - pendingEvent;
+        pendingEvent = -1;
+        if (sampleCount == samples.length) {
+            report();
+            sampleCount = 0;
+        }
+    }
+
+    private void report() {
+        long min = Long.MAX_VALUE, max = 0, sum = 0;
+        for (long sample : samples) {
+            min = Math.min(min, sample);
+            max = Math.max(max, sample);
+            sum += sample;
+        }
+        Gdx.app.log("LatencyMonitor", String.format("input-to-frame over %d events: "
+                + "min=%.2fms avg=%.2fms max=%.2fms",
+                samples.length, min / 1e6, sum / 1e6 / samples.length, max / 1e6));
+    }
+}
@@ -0,0 +1,75 @@
+package com.mygdx.game.server;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.mygdx.game.AreaRegistry;
+import com.mygdx.game.InputScript;
+import com.mygdx.game.ReplicationClient;
+import com.mygdx.game.ReplicationServer;
+import com.mygdx.game.SharedMapSource;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Headless launcher running a ReplicationServer together with a number of 
+ * ReplicationClients in one process, over the loopback interface. Each client 
+ * is driven by a RandomWalk. Prints the bandwidth per client, the tick cost 
+ * per connected player, and the number of prediction corrections.
+ * 
+ * Usage: LoopbackLauncher [clients] [ticks]
+ * 
+ * Our contribution: 100%
+ */
+public class LoopbackLauncher {
+
+    public static void main(final String[] arg) {
+        final int clientCount = arg.length > 0 ? Integer.parseInt(arg[0]) : 64;
+        final int ticks       = arg.length > 1 ? Integer.parseInt(arg[1]) : 600;
+
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                SharedMapSource maps = new SharedMapSource();
+                String startArea = AreaRegistry.getInstance().getStartArea();
+                ReplicationServer server = new ReplicationServer(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), maps, startArea, clientCount);
+                ReplicationClient[] clients = new ReplicationClient[clientCount];
+                InputScript[] scripts = new InputScript[clientCount];
+                for (int i = 0; i < clientCount; i++) {
+                    clients[i] = new ReplicationClient(server.getAddress(), maps, startArea);
+                    scripts[i] = new InputScript.RandomWalk(i, 30);
+                }
+
+                for (int tick = 0; tick < ticks; tick++) {
+                    for (int i = 0; i < clientCount; i++) {
+                        clients[i].tick(scripts[i].inputAt(tick));
+                    }
+                    server.tick();
+                    for (int i = 0; i < clientCount; i++) {
+                        clients[i].poll();
+                    }
+                }
+
+                long received = 0, sent = 0, corrections = 0;
+                for (ReplicationClient client : clients) {
+                    received += client.getBytesReceived();
+                    sent += client.getBytesSent();
+                    corrections += client.getCorrections();
+                    client.dispose();
+                }
+                System.out.println(String.format("clients=%d ticks=%d down=%.1fB/tick up=%.1fB/tick "
+                        + "server-tick/player=%.0fns corrections=%d",
+                        clientCount, ticks,
+                        (double) received / clientCount / ticks,
+                        (double) sent / clientCount / ticks,
+                        (double) server.getTickNanos() / Math.max(1, server.getClientCount()) / server.getTick(),
+                        corrections));
+                server.dispose();
+                maps.dispose();
+                Gdx.app.exit();
+            }
+        }, new HeadlessApplicationConfiguration());
+    }
+}
@@ -0,0 +1,40 @@
+package com.mygdx.game.tools;
+
+import com.badlogic.gdx.graphics.Color;
+import com.mygdx.game.ParticleSystem;
+
+/**
+ * Headless benchmark of the update throughput of the ParticleSystem. Keeps the 
+ * system close to its capacity by emitting a new burst on every step, and prints
+ * the average time of updating a single particle. Does not start libGDX.
+ * 
+ * Usage: ParticleBenchmark [capacity] [steps]
+ * 
+ * Our contribution: 100%
+ */
+public class ParticleBenchmark {
+
+    public static void main(String[] arg) {
+        int capacity = arg.length > 0 ? Integer.parseInt(arg[0]) : 65536;
+        int steps    = arg.length > 1 ? Integer.parseInt(arg[1]) : 10000;
+        float delta  = 1 / 60f;
+
+        ParticleSystem particles = new ParticleSystem(capacity);
+        int warmUp = steps / 10;
+        long updated = 0, nanos = 0;
+        for (int step = 0; step < warmUp + steps; step++) {
+            particles.burst(0, 0, capacity / 30, 400, 1, 4, Color.WHITE);
+            int count = particles.getCount();
+            long start = System.nanoTime();
+            particles.update(delta);
+            long time = System.nanoTime() - start;
+            if (step >= warmUp) {
+                updated += count;
+                nanos += time;
+            }
+        }
+        System.out.println(String.format("capacity=%d steps=%d particles/step=%d update=%.2fns/particle "
+                + "throughput=%.1fM particles/s",
+                capacity, steps, updated / steps, (double) nanos / updated, updated * 1e3 / nanos));
+    }
+}
@@ -0,0 +1,179 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Pool of simple particles used for visual effects, such as switching the 
+ * dimension or entering a portal. The particles are stored as a structure of 
+ * arrays of primitives allocated up front, and dead particles are removed by 
+ * moving the last live particle into their place, so the live particles always
+ * occupy the beginning of the arrays. Neither emitting, updating nor rendering
+ * allocates, and updating does not depend on libGDX being running, so it can be
+ * benchmarked headless. All the particles are rendered from a single vertex 
+ * array sharing one texture region, in as few batch flushes as the batch size allows.
+ * 
+ * Our contribution: 100%
+ */
+public class ParticleSystem {
+
+    private static final int VERTEX_SIZE = 20;
+    private static final float DRAG = 2f;
+
+    private final int capacity;
+    private final float[] posX, posY, velX, velY, life, maxLife, size;
+    private final int[] colors;
+    private final float[] vertices;
+    private int count;
+    private long seed = 0x2545F4914F6CDD1DL;
+
+    /**
+     * Creates an instance of ParticleSystem.
+     * @param capacity the maximal number of live particles
+     */
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        posX = new float[capacity];
+        posY = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        colors = new int[capacity];
+        vertices = new float[Math.min(capacity, 8191) * VERTEX_SIZE];
+    }
+
+    /**
+     * Emits a burst of particles flying out in random directions. Particles 
+     * over the capacity of the system are not emitted.
+     * @param x the X-position of the burst
+     * @param y the Y-position of the burst
+     * @param amount the number of particles
+     * @param speed the maximal initial speed in world units per second
+     * @param lifetime the maximal lifetime of the particles in seconds
+     * @param particleSize the size of a single particle in world units
+     * @param color the color of the particles
+     */
+    public void burst(float x, float y, int amount, float speed, float lifetime, float particleSize, Color color) {
+        int abgr = ((int) (255 * color.b) << 16) | ((int) (255 * color.g) << 8) | (int) (255 * color.r);
+        int end = Math.min(capacity, count + amount);
+        for (int i = count; i < end; i++) {
+            float angle = random() * 6.2831855f;
+            float velocity = speed * (0.25f + 0.75f * random());
+            posX[i] = x;
+            posY[i] = y;
+            velX[i] = (float) Math.cos(angle) * velocity;
+            velY[i] = (float) Math.sin(angle) * velocity;
+            maxLife[i] = life[i] = lifetime * (0.5f + 0.5f * random());
+            size[i] = particleSize;
+            colors[i] = abgr;
+        }
+        count = end;
+    }
+
+    /**
+     * Advances all the particles, and removes the dead ones.
+     * @param delta the time in seconds elapsed since the previous update
+     */
+    public void update(float delta) {
+        float damping = Math.max(0, 1 - DRAG * delta);
+        int i = 0;
+        while (i < count) {
+            float remaining = life[i] - delta;
+            if (remaining <= 0) {
+                int last = --count;
+                posX[i] = posX[last];
+                posY[i] = posY[last];
+                velX[i] = velX[last];
+                velY[i] = velY[last];
+                life[i] = life[last];
+                maxLife[i] = maxLife[last];
+                size[i] = size[last];
+                colors[i] = colors[last];
+                continue;
+            }
+            life[i] = remaining;
+            posX[i] += velX[i] * delta;
+            posY[i] += velY[i] * delta;
+            velX[i] *= damping;
+            velY[i] *= damping;
+            i++;
+        }
+    }
+
+    /**
+     * Renders all the live particles, fading them out over their lifetime.
+     * 
+     * Preconditions:
+     * - the batch has to be running
+     * 
+     * @param batch the batch to render the particles with
+     * @param region the texture region of a single particle
+     */
+    public void render(Batch batch, TextureRegion region) {
+        float u = region.getU(), v = region.getV2(), u2 = region.getU2(), v2 = region.getV();
+        int chunk = vertices.length / VERTEX_SIZE;
+        for (int first = 0; first < count; first += chunk) {
+            int last = Math.min(count, first + chunk);
+            int index = 0;
+            for (int i = first; i < last; i++) {
+                int alpha = (int) (255 * life[i] / maxLife[i]);
+                float color = NumberUtils.intToFloatColor((alpha << 24) | colors[i]);
+                float half = size[i] / 2;
+                float x1 = posX[i] - half, y1 = posY[i] - half;
+                float x2 = posX[i] + half, y2 = posY[i] + half;
+                index = putVertex(index, x1, y1, color, u, v);
+                index = putVertex(index, x1, y2, color, u, v2);
+                index = putVertex(index, x2, y2, color, u2, v2);
+                index = putVertex(index, x2, y1, color, u2, v);
+            }
+            batch.draw(region.getTexture(), vertices, 0, index);
+        }
+    }
+
+    private int putVertex(int index, float x, float y, float color, float u, float v) {
+        vertices[index] = x;
+        vertices[index + 1] = y;
+        vertices[index + 2] = color;
+        vertices[index + 3] = u;
+        vertices[index + 4] = v;
+        return index + 5;
+    }
+
+    /**
+     * Returns a pseudo-random number in [0, 1) from a xorshift generator, 
+     * which unlike java.util.Random needs no synchronization.
+     */
+    private float random() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (seed >>> 40) / (float) (1 << 24);
+    }
+
+    /**
+     * Removes all the particles.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Returns the number of live particles.
+     * @return the number of particles
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the maximal number of live particles.
+     * @return the capacity of the system
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
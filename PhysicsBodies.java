@@ -0,0 +1,254 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Movement stage of the game, integrating all moving bodies of a map in a single
+ * pass. The bodies are stored as a structure of arrays of primitives allocated
+ * up front, like the particles of the ParticleSystem. Each body is a box given by
+ * its center and half extents, accelerates in the direction it is steered to, and
+ * is slowed down by friction, so that its speed settles at MAX_SPEED. The
+ * direction is expected to be normalized, so moving diagonally is not faster.
+ *
+ * Bodies collide with the blocked tiles of the CollisionDetector, tested at the
+ * same 8 nodes around the box as the Player uses. Each axis is moved and tested
+ * separately, so a body blocked on one axis slides along the wall on the other.
+ * When a body would move more than half a tile in a step, the step is split into
+ * equal sub-steps of at most half a tile, so that fast bodies cannot pass through
+ * walls. Stepping neither allocates nor depends on libGDX being running: a 
+ * single CollisionPass event is reused for all the steps.
+ *
+ * Our contribution: 100%
+ */
+public class PhysicsBodies {
+
+    /**
+     * The acceleration of a steered body in world units per second squared.
+     */
+    public static final float ACCELERATION = 3000f;
+    /**
+     * The friction coefficient per second. Friction is applied implicitly, 
+     * so the speed settles at MAX_SPEED regardless of the length of the steps.
+     */
+    public static final float FRICTION = 10f;
+    /**
+     * The speed a steered body settles at in world units per second.
+     */
+    public static final float MAX_SPEED = ACCELERATION / FRICTION;
+    /**
+     * Speed under which a body is considered stopped.
+     */
+    private static final float MIN_SPEED = 1f;
+    /**
+     * Offsets of the nodes of a box in half extents, in the order of the Player nodes.
+     */
+    private static final float[] NODE_X = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final float[] NODE_Y = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    private final int capacity;
+    private final float[] posX, posY, velX, velY, dirX, dirY, halfWidth, halfHeight;
+    private int count;
+    private int nodesChecked;
+    private final GameEvents.CollisionPass event = new GameEvents.CollisionPass();
+
+    /**
+     * Creates an instance of PhysicsBodies.
+     * @param capacity the maximal number of bodies
+     */
+    public PhysicsBodies(int capacity) {
+        this.capacity = capacity;
+        posX = new float[capacity];
+        posY = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        dirX = new float[capacity];
+        dirY = new float[capacity];
+        halfWidth = new float[capacity];
+        halfHeight = new float[capacity];
+    }
+
+    /**
+     * Adds a new body at rest.
+     * @param x the X-position of the center of the body
+     * @param y the Y-position of the center of the body
+     * @param width the width of the body
+     * @param height the height of the body
+     * @return the index of the body
+     */
+    public int add(float x, float y, float width, float height) {
+        if (count == capacity) {
+            throw new GdxRuntimeException("Too many physics bodies, the capacity is " + capacity);
+        }
+        int body = count++;
+        posX[body] = x;
+        posY[body] = y;
+        velX[body] = 0;
+        velY[body] = 0;
+        dirX[body] = 0;
+        dirY[body] = 0;
+        setSize(body, width, height);
+        return body;
+    }
+
+    /**
+     * Removes all the bodies.
+     *
+     * Postconditions:
+     * - indices of the previous bodies are no longer valid
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Advances all the bodies by the given time: accelerates them in their
+     * directions, applies friction, and moves them in sub-steps of at most half
+     * a tile, stopping each axis at the blocked tiles of the collision map.
+     *
+     * Precondition:
+     * - the CollisionDetector has to be provided with a TiledMap
+     *
+     * @param delta the time in seconds to advance by
+     * @param collision the CollisionDetector of the map the bodies are on
+     */
+    public void step(float delta, CollisionDetector collision) {
+        event.begin();
+        boolean collided = false;
+        nodesChecked = 0;
+
+        float maxStepX = collision.getTileWidth() / 2;
+        float maxStepY = collision.getTileHeight() / 2;
+        float damping = 1 / (1 + FRICTION * delta);
+        for (int i = 0; i < count; i++) {
+            velX[i] = (velX[i] + dirX[i] * ACCELERATION * delta) * damping;
+            velY[i] = (velY[i] + dirY[i] * ACCELERATION * delta) * damping;
+            if (Math.abs(velX[i]) < MIN_SPEED) {
+                velX[i] = 0;
+            }
+            if (Math.abs(velY[i]) < MIN_SPEED) {
+                velY[i] = 0;
+            }
+
+            float moveX = velX[i] * delta, moveY = velY[i] * delta;
+            int steps = (int) Math.ceil(Math.max(Math.abs(moveX) / maxStepX, Math.abs(moveY) / maxStepY));
+            if (steps == 0) {
+                continue;
+            }
+            moveX /= steps;
+            moveY /= steps;
+            for (int s = 0; s < steps; s++) {
+                if (moveX != 0) {
+                    if (isBlocked(collision, posX[i] + moveX, posY[i], halfWidth[i], halfHeight[i])) {
+                        moveX = 0;
+                        velX[i] = 0;
+                        collided = true;
+                    } else {
+                        posX[i] += moveX;
+                    }
+                }
+                if (moveY != 0) {
+                    if (isBlocked(collision, posX[i], posY[i] + moveY, halfWidth[i], halfHeight[i])) {
+                        moveY = 0;
+                        velY[i] = 0;
+                        collided = true;
+                    } else {
+                        posY[i] += moveY;
+                    }
+                }
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.nodes = nodesChecked;
+            event.collided = collided;
+            event.commit();
+        }
+    }
+
+    /**
+     * Checks the 8 nodes of the box against the collision map, see Player for
+     * the scheme of the nodes.
+     * @return true if at least one node is inside a blocked tile
+     */
+    private boolean isBlocked(CollisionDetector collision, float x, float y, float halfW, float halfH) {
+        for (int node = 0; node < 8; node++) {
+            nodesChecked++;
+            float nodeX = x + NODE_X[node] * halfW;
+            float nodeY = y + NODE_Y[node] * halfH;
+            if (collision.isCellBlocked(nodeX, nodeY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the direction the body accelerates in. A zero direction lets the
+     * body slow down to a stop.
+     * @param body the index of the body
+     * @param x the X-component of the normalized direction
+     * @param y the Y-component of the normalized direction
+     */
+    public void setDirection(int body, float x, float y) {
+        dirX[body] = x;
+        dirY[body] = y;
+    }
+
+    /**
+     * Moves the body without any collision checks.
+     * @param body the index of the body
+     * @param x the X-position of the center of the body
+     * @param y the Y-position of the center of the body
+     */
+    public void setPosition(int body, float x, float y) {
+        posX[body] = x;
+        posY[body] = y;
+    }
+
+    /**
+     * Sets the velocity of the body.
+     * @param body the index of the body
+     * @param x the X-component of the velocity in world units per second
+     * @param y the Y-component of the velocity in world units per second
+     */
+    public void setVelocity(int body, float x, float y) {
+        velX[body] = x;
+        velY[body] = y;
+    }
+
+    /**
+     * Sets the size of the box of the body.
+     * @param body the index of the body
+     * @param width the width of the body
+     * @param height the height of the body
+     */
+    public void setSize(int body, float width, float height) {
+        halfWidth[body] = width / 2;
+        halfHeight[body] = height / 2;
+    }
+
+    public float getX(int body) {
+        return posX[body];
+    }
+
+    public float getY(int body) {
+        return posY[body];
+    }
+
+    public float getVelocityX(int body) {
+        return velX[body];
+    }
+
+    public float getVelocityY(int body) {
+        return velY[body];
+    }
+
+    /**
+     * Returns the number of bodies.
+     * @return the number of bodies
+     */
+    public int getCount() {
+        return count;
+    }
+}
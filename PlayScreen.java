@@ -4,36 +4,48 @@ import com.badlogic.gdx.Gdx;
 import static com.badlogic.gdx.Input.Keys.D;
 import static com.badlogic.gdx.Input.Keys.ESCAPE;
 import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 
 /**
  * The main class for the play areas of the game. Its main task is to render the
  * whole screen and every element that is shown in the game, supply the game with 
- * core features such as Camera, Collision and Portal Detectors and processes the 
- * unique for the play area input. Each zone that the player enters is a new instance 
- * of PlayScreen.
+ * core features such as Camera and the World simulating the area, and processes the 
+ * unique for the play area input. Each frame runs in ordered phases, see 
+ * render(float). Each zone that the player enters is a new instance of PlayScreen.
  * This class uses disposable elements, and does not run dispose() automatically. 
  * Please remember to dispose used assets when they are no longer needed to avoid 
  * memory leaks.
  */
 public class PlayScreen extends AbstractScreen {
 
+    private static final int BURST_SIZE = 2000;
+
     private final int[] background = {0},
                         walls      = {1},
                         shadows    = {2};
-    private final OrthogonalTiledMapRenderer renderer;
+    private final ResourceHandle<TiledMap> mapHandle;
+    private final TiledMap map;
+    private final FieldOfView fieldOfView;
+    private final FogTiledMapRenderer renderer;
     private final Camera camera;
     private final Player player;
+    private final World world;
+    private final SpriteRenderer sprites;
+    private final TileAnimator tileAnimator;
 
     /**
      * Constructor that creates the PlayScreen instance. Supplies this instance with
-     * new instances of Player, Camera and Renderer, updates Collision and Portal 
-     * detectors with desired TiledMap for the level and sets up an Input Adapter
-     * which observes for the specific input keys:
-     * - ESCAPE for exiting the game
-     * - D for changing the dimension in the game
-     * @param mapName the desired TiledMap to be rendered
+     * new instances of Player, Camera and Renderer, and a World bound to the map
+     * simulating the area. The renderer shares the batch
+     * of GameCore, so that no new shader has to be compiled for each area, and 
+     * hides the tiles outside of the FieldOfView of the map. 
+     * The constructor has no side-effects on the dimension mode or the input, which 
+     * allows the screen to be built ahead of time (see AreaPrefetcher). These 
+     * are set up in show().
+     * @param areaId the id of the area
+     * @param mapHandle the handle to the desired TiledMap to be rendered, released
+     * when this PlayScreen is disposed
      * @param camWidth the desired width of Camera window
      * @param camHeight the desired width of Camera window
      * @param posX the X-coordinate of spawn for the player
@@ -41,54 +53,160 @@ public class PlayScreen extends AbstractScreen {
      * 
      * Our contribution: 90%
      */
-    public PlayScreen(TiledMap mapName, float camWidth, float camHeight, float posX, float posY) {
-        renderer = new OrthogonalTiledMapRenderer(mapName);
+    public PlayScreen(String areaId, ResourceHandle<TiledMap> mapHandle, float camWidth, float camHeight,
+            float posX, float posY) {
+        this.mapHandle = mapHandle;
+        this.map = mapHandle.get();
+        fieldOfView = FieldOfView.get(map);
+        renderer = new FogTiledMapRenderer(map, game.batch, fieldOfView);
+        tileAnimator = TileAnimator.get(map);
         camera   = new Camera(camWidth, camHeight);
         player   = new Player(posX, posY);
-        CollisionDetector.getInstance().setCollisionMap(mapName);
-        PortalDetector.getInstance().setPortalMap(mapName);
+        world    = new World(areaId, map, player);
+        fieldOfView.update(posX, posY);
+        sprites  = new SpriteRenderer();
+        sprites.add(player);
+        camera.updatePosition(renderer, player.getX(), player.getY());
+    }
+
+    /**
+     * Activates the PlayScreen. Takes over the dimension mode of the game, and
+     * sets up an Input Adapter which observes for ESCAPE for exiting the game. 
+     * Changing the dimension with D is handled by the World, as part of the 
+     * sampled input. The adapter latches the presses of D (see PlayerInput),
+     * so that a tap shorter than a frame is not lost.
+     */
+    @Override
+    public void show() {
+        world.setThirdDimensionMode(ThreeDSystem.isOn());
+        player.refreshTexture();
         Gdx.input.setInputProcessor(new InputAdapter() {
+            @Override
+            public boolean keyUp(int keycode) {
+                LatencyMonitor.getInstance().inputEvent();
+                return true;
+            }
+
             @Override
             public boolean keyDown(int keycode) {
+                LatencyMonitor.getInstance().inputEvent();
+                if (keycode == D) {
+                    PlayerInput.switchPressed();
+                }
                 if (keycode == ESCAPE) {
                     game.dispose(); 
                     dispose();
                     System.exit(0);
                 }
-                if (keycode == D) {
-                    ThreeDSystem.switchDimension();
-                    player.refreshTexture();
-                }
                 return true;
             }
         });
     }
     
     /**
-     * Gathers rendering calls from objects in the game and provides them with 
-     * the an instance of GameCore. The method runs periodically, 
-     * therefore it is also responsible for updating the Camera, and processing 
-     * the movement of the Player.
+     * Runs a single frame of the play area as a sequence of ordered phases:
      * 
-     * @param delta the value denoting the time in milliseconds between rendering 
+     * 1. input sampling - the arrow keys and D are read,
+     * 2. simulation - the World of the area is stepped, which switches the
+     *    dimension, moves the bodies, and determines the destination of a portal
+     *    the player has entered,
+     * 3. transition handling - if the player has entered a portal, the area is 
+     *    changed, and the rest of the frame is handed to the new PlayScreen,
+     * 4. camera - the Camera follows the player,
+     * 5. render - the map layers and actors are drawn.
+     * 
+     * Thanks to this order, the frame always shows the result of the input 
+     * sampled in the same frame, and the area is never changed in the middle 
+     * of rendering.
+     * 
+     * @param delta the value denoting the time in seconds between rendering 
      * of the following frames
      */
     @Override
     public void render(float delta) {
-        camera.updatePosition(renderer, player.getX(), player.getY());
+        int input = PlayerInput.sample();
+        String destination = simulate(input, delta);
+        if (destination != null) {
+            PlayScreen next = ScreenManager.getInstance().showArea(destination);
+            game.particles.clear();
+            next.burst(Color.WHITE);
+            next.present();
+            return;
+        }
+        present();
+    }
+
+    /**
+     * Emits a burst of particles around the player.
+     * @param color the color of the particles
+     */
+    private void burst(Color color) {
+        game.particles.burst(player.getX(), player.getY(), BURST_SIZE, 400, 0.8f, 4, color);
+    }
+
+    /**
+     * Simulation phase of the frame. Steps the World of the area with the input,
+     * applies a change of the dimension to the game, updates the FieldOfView and
+     * particles, and prefetches the area of a nearby portal.
+     * 
+     * @param input the bit mask of PlayerInput flags sampled for this frame
+     * @param delta the time in seconds since the previous frame
+     * @return the id of the area the player has entered a portal to, or null
+     */
+    private String simulate(int input, float delta) {
+        String destination = world.step(input, delta);
+        if (world.isThirdDimensionMode() != ThreeDSystem.isOn()) {
+            ThreeDSystem.switchDimension();
+            player.refreshTexture();
+            burst(ThreeDSystem.isOn() ? Color.CYAN : Color.PINK);
+        }
+        game.particles.update(delta);
+        fieldOfView.update(player.getX(), player.getY());
+        if (destination != null) {
+            return destination;
+        }
+        AreaPrefetcher.getInstance().update(world.getPortalDetector());
+        return null;
+    }
+
+    /**
+     * Camera and render phases of the frame. Positions the Camera at the player
+     * and gathers rendering calls from objects in the game, without advancing 
+     * the simulation. If the game uses a PixelRenderTarget, the Camera is 
+     * snapped to its pixel grid, and the scene is drawn into it, and then 
+     * copied to the screen.
+     */
+    void present() {
+        PixelRenderTarget target = game.getRenderTarget();
+        if (target != null) {
+            target.begin(camera);
+        }
+        float cameraX = player.getX(), cameraY = player.getY();
+        if (target != null) {
+            cameraX = target.snap(cameraX, camera.viewportWidth * camera.zoom);
+            cameraY = target.snap(cameraY, camera.viewportHeight * camera.zoom);
+        }
+        camera.updatePosition(renderer, cameraX, cameraY);
         game.batch.setProjectionMatrix(camera.combined);
+        tileAnimator.update(AnimationClock.getTime());
 
         renderer.render(background);
+        sprites.setDrawDistance(QualityGovernor.getInstance().getDrawDistance());
+        sprites.render(camera, game.batch);
         game.batch.begin();
-        player.render();
+        game.particles.render(game.batch, Resources.getParticleRegion());
         game.batch.end();
-        renderer.render(shadows);
+        if (!QualityGovernor.getInstance().isDegraded(QualityGovernor.Step.SHADOWS)) {
+            renderer.render(shadows);
+        }
         
         if (ThreeDSystem.isOn()) {
             renderer.render(walls);
         }
-
-        player.processMovement();
+        if (target != null) {
+            target.end(game.batch);
+        }
+        LatencyMonitor.getInstance().framePresented();
     }
 
     /**
@@ -97,6 +215,7 @@ public class PlayScreen extends AbstractScreen {
      * 
      * Postconditions:
      * - disposed assets can no longer be used
+     * - the map of this PlayScreen is released to Resources
      * 
      * Side-effect:
      * - accessing disposed assets causes thread crash
@@ -104,5 +223,6 @@ public class PlayScreen extends AbstractScreen {
     @Override
     public void dispose() {
         renderer.dispose();
+        mapHandle.release();
     }
 }
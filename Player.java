@@ -1,28 +1,36 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.Gdx;
-import static com.badlogic.gdx.Input.Keys.DOWN;
-import static com.badlogic.gdx.Input.Keys.LEFT;
-import static com.badlogic.gdx.Input.Keys.RIGHT;
-import static com.badlogic.gdx.Input.Keys.UP;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
  * A class that represents a Player. It is responsible for storing information
- * about the player such as its current position and texture. It also handles 
- * processing players movement across the map and detecting special events such 
- * as collision and portal traverse. Note that Player position is stored as a 
- * position of bottom left-hand corner of its texture.
+ * about the player such as its current position and texture. The movement of the
+ * player is simulated by the PhysicsBodies it is attached to: the Player steers
+ * its body according to the input, and follows it once the bodies are stepped.
+ * Note that Player position is stored as the position of the center of its 
+ * texture. The Player is drawn by the SpriteRenderer of the PlayScreen it 
+ * belongs to.
  * 
  * Our contribution: 100%
  */
-public class Player extends Sprite {
+public class Player extends Sprite implements SpriteActor {
+
+    /**
+     * The layer the Player is drawn at by the SpriteRenderer.
+     */
+    public static final int LAYER = 1;
+    /**
+     * Length of each component of a normalized diagonal direction.
+     */
+    private static final float DIAGONAL = (float) (1 / Math.sqrt(2));
     
-    private Texture texture; //Currently instantiated texture.
+    private final TextureRegion frame; // Region covering the currently instantiated texture.
     private float width, height;// Current texture attributes.
-    private float posX, posY; // Position of the bottom left-hand corner of the texture.
+    private float posX, posY; // Position of the center of the texture.
+    private PhysicsBodies physics; // Bodies the player is attached to, if any.
+    private int body;
     /**
      * The set of coordinates of 8 points, denoted as nodes, used to detect 
      * events happened during the game. The scheme shows position of nodes around
@@ -38,84 +46,186 @@ public class Player extends Sprite {
 
     /**
      * Constructor that creates a new instance of Player. It sets up primary
-     * coordinates of Player and updates detector classes with this instance.
+     * coordinates of Player. Detector classes are updated with this instance by 
+     * the World it belongs to.
      * Defines a set of 8 points around the player, denoted as nodes, which are 
      * used in detector classes as detection points.
      * @param posX the X-coordinate of spawn for the player
      * @param posY the Y-coordinate of spawn for the player
      */
     public Player(float posX, float posY) {
+        this(posX, posY, new TextureRegion(Resources.getPlayerTexture()));
+    }
+
+    /**
+     * Constructor that creates a new instance of Player without any texture, to
+     * be used by a World simulated without rendering. The frame of such player 
+     * is an empty region, and refreshTexture() keeps its size.
+     * @param posX the X-coordinate of spawn for the player
+     * @param posY the Y-coordinate of spawn for the player
+     * @param width the width of the player
+     * @param height the height of the player
+     */
+    public Player(float posX, float posY, float width, float height) {
+        this.posX = posX;
+        this.posY = posY;
+        this.frame = new TextureRegion();
+        this.width = width;
+        this.height = height;
+        nodes = new float[8][2];
+        updatePlayerNodes();
+    }
+
+    /**
+     * Constructor that creates a new instance of Player sized by the given frame.
+     * @param posX the X-coordinate of spawn for the player
+     * @param posY the Y-coordinate of spawn for the player
+     * @param frame the region of the texture of the player
+     */
+    private Player(float posX, float posY, TextureRegion frame) {
         this.posX = posX;
         this.posY = posY;
-        texture = Resources.getPlayerTexture();
-        width = texture.getWidth();
-        height = texture.getHeight();
+        this.frame = frame;
+        this.width = frame.getRegionWidth();
+        this.height = frame.getRegionHeight();
         nodes = new float[8][2];
-        CollisionDetector.getInstance().setPlayer(this);
-        PortalDetector.getInstance().setPlayer(this);
         updatePlayerNodes();
     }
     
     /**
-     * Refreshes players texture.
+     * Refreshes players texture. Has no effect on a Player without any texture.
      * 
      * Postconditions:
      * - players nodes are updated to match the new texture
      */
     public final void refreshTexture() {
+        if (frame.getTexture() == null) {
+            return;
+        }
         Texture newTexture = Resources.getPlayerTexture();
-        this.texture = newTexture;
+        frame.setRegion(newTexture);
         this.width = newTexture.getWidth();
         this.height = newTexture.getHeight();
+        if (physics != null) {
+            physics.setSize(body, width, height);
+        }
         updatePlayerNodes();
     }
     
     /**
-     * Sends request to the game batch to render the player at the position of 
-     * the middle of its currently initialized texture.
+     * Returns the region of the currently initialized texture of the player.
+     * The player has no animation, so the time is ignored.
+     * @param time the current time of the AnimationClock
+     * @return the current frame of the player
      */
-    public void render() {
-        SpriteBatch gameBatch = GameCore.getInstance().batch;
-        gameBatch.draw(texture,
-                posX - width / 2,
-                posY - height / 2);
+    @Override
+    public TextureRegion getFrame(float time) {
+        return frame;
+    }
+
+    @Override
+    public float getCenterX() {
+        return posX;
+    }
+
+    @Override
+    public float getCenterY() {
+        return posY;
+    }
+
+    @Override
+    public int getLayer() {
+        return LAYER;
     }
     
     /**
-     * Processes movement of the player. Checks whether one of the arrow 
-     * keys was pressed, and if so, it changes the position coordinates of this
-     * Player accordingly. The method sends a messages to Detector classes, to
-     * look for the special effects. If the collision with map was found, the 
-     * position of the Player remain unchanged.
+     * Adds a body of the size of the player at its position to the PhysicsBodies,
+     * so that the player moves along with it.
      * 
      * Postconditions:
-     * - if portal was found, the current instance of Player will be disposed
+     * - the previous body of the Player is no longer followed
+     * 
+     * @param physics the PhysicsBodies of the map the player is on
      */
-    public void processMovement() {
-        float speed = 5;
-        float oldX = posX, oldY = posY;
-        if (Gdx.input.isKeyPressed(UP)) {
-            posY += speed;
+    public void attach(PhysicsBodies physics) {
+        this.physics = physics;
+        this.body = physics.add(posX, posY, width, height);
+    }
+
+    /**
+     * Steers the body of the player according to the given input. Opposite
+     * direction flags cancel each other out, and the diagonal directions are 
+     * normalized, so moving diagonally is not faster.
+     * 
+     * Precondition:
+     * - the Player has to be attached to PhysicsBodies
+     * 
+     * @param input the bit mask of PlayerInput flags
+     */
+    public void steer(int input) {
+        float dirX = 0, dirY = 0;
+        if (PlayerInput.isSet(input, PlayerInput.UP_FLAG)) {
+            dirY += 1;
+        }
+        if (PlayerInput.isSet(input, PlayerInput.DOWN_FLAG)) {
+            dirY -= 1;
         }
-        if (Gdx.input.isKeyPressed(DOWN)) {
-            posY -= speed;
+        if (PlayerInput.isSet(input, PlayerInput.RIGHT_FLAG)) {
+            dirX += 1;
         }
-        if (Gdx.input.isKeyPressed(RIGHT)) {
-            posX += speed;
+        if (PlayerInput.isSet(input, PlayerInput.LEFT_FLAG)) {
+            dirX -= 1;
         }
-        if (Gdx.input.isKeyPressed(LEFT)) {
-            posX -= speed;
+        if (dirX != 0 && dirY != 0) {
+            dirX *= DIAGONAL;
+            dirY *= DIAGONAL;
         }
+        physics.setDirection(body, dirX, dirY);
+    }
+
+    /**
+     * Moves the player to the position of its body, after the PhysicsBodies 
+     * have been stepped.
+     * 
+     * Precondition:
+     * - the Player has to be attached to PhysicsBodies
+     * 
+     * Postconditions:
+     * - nodes of the Player are updated
+     */
+    public void followBody() {
+        posX = physics.getX(body);
+        posY = physics.getY(body);
         updatePlayerNodes();
+    }
 
-        if (CollisionDetector.getInstance().checkMapCollision()) {
-            posX = oldX;
-            posY = oldY;
-            updatePlayerNodes();
-        }
-        if (PortalDetector.getInstance().checkForPortal()) {
-            PortalDetector.getInstance().changeArea();
-        }
+    /**
+     * Returns the X-component of the velocity of the player.
+     * @return the velocity in world units per second, or 0 if not attached
+     */
+    public float getVelocityX() {
+        return physics != null ? physics.getVelocityX(body) : 0;
+    }
+
+    /**
+     * Returns the Y-component of the velocity of the player.
+     * @return the velocity in world units per second, or 0 if not attached
+     */
+    public float getVelocityY() {
+        return physics != null ? physics.getVelocityY(body) : 0;
+    }
+
+    /**
+     * Sets the velocity of the body of the player.
+     * 
+     * Precondition:
+     * - the Player has to be attached to PhysicsBodies
+     * 
+     * @param velX the X-component of the velocity in world units per second
+     * @param velY the Y-component of the velocity in world units per second
+     */
+    public void setVelocity(float velX, float velY) {
+        physics.setVelocity(body, velX, velY);
     }
     
     /**
@@ -132,28 +242,30 @@ public class Player extends Sprite {
      * - the previous coordinates of nodes will be lost
      */
     public final void updatePlayerNodes() {
-        float[] node1 = {posX            , posY + height / 2};
-        float[] node2 = {posX + width / 2, posY + height / 2};
-        float[] node3 = {posX + width / 2, posY};
-        float[] node4 = {posX + width / 2, posY - height / 2};
-        float[] node5 = {posX            , posY - height / 2};
-        float[] node6 = {posX - width / 2, posY - height / 2};
-        float[] node7 = {posX - width / 2, posY};
-        float[] node8 = {posX - width / 2, posY + height / 2};
-
-        nodes[0] = node1;
-        nodes[1] = node2;
-        nodes[2] = node3;
-        nodes[3] = node4;
-        nodes[4] = node5;
-        nodes[5] = node6;
-        nodes[6] = node7;
-        nodes[7] = node8;
+        setNode(0, posX            , posY + height / 2);
+        setNode(1, posX + width / 2, posY + height / 2);
+        setNode(2, posX + width / 2, posY);
+        setNode(3, posX + width / 2, posY - height / 2);
+        setNode(4, posX            , posY - height / 2);
+        setNode(5, posX - width / 2, posY - height / 2);
+        setNode(6, posX - width / 2, posY);
+        setNode(7, posX - width / 2, posY + height / 2);
+    }
+
+    /**
+     * Sets the coordinates of a single node in place.
+     * @param index the index of the node
+     * @param x the X-coordinate of the node
+     * @param y the Y-coordinate of the node
+     */
+    private void setNode(int index, float x, float y) {
+        nodes[index][0] = x;
+        nodes[index][1] = y;
     }
     
     /**
      * Returns players X-position. Note that this is the position of
-     * bottom left-hand corner of the Players texture.
+     * the center of the Players texture.
      * @return the current X-position of the player.
      */
     @Override
@@ -163,7 +275,7 @@ public class Player extends Sprite {
     
     /**
      * Returns players Y-position. Note that this is the position of
-     * bottom left-hand corner of the Players texture.
+     * the center of the Players texture.
      * @return the current Y-position of the player.
      */
     @Override
@@ -173,22 +285,28 @@ public class Player extends Sprite {
 
     /**
      * Sets players X-position. Note that this is the position of
-     * bottom left-hand corner of the Players texture.
+     * the center of the Players texture.
      * @param posX the desired X-position
      */
     @Override
     public void setX(float posX) {
         this.posX = posX;
+        if (physics != null) {
+            physics.setPosition(body, posX, posY);
+        }
     }
     
     /**
      * Sets players Y-position. Note that this is the position of
-     * bottom left-hand corner of the Players texture.
+     * the center of the Players texture.
      * @param posY the desired Y-position
      */
     @Override
     public void setY(float posY) {
         this.posY = posY;
+        if (physics != null) {
+            physics.setPosition(body, posX, posY);
+        }
     }
 
 }
@@ -0,0 +1,81 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import static com.badlogic.gdx.Input.Keys.D;
+import static com.badlogic.gdx.Input.Keys.DOWN;
+import static com.badlogic.gdx.Input.Keys.LEFT;
+import static com.badlogic.gdx.Input.Keys.RIGHT;
+import static com.badlogic.gdx.Input.Keys.UP;
+
+/**
+ * Input of the player for a single simulation step, packed as a bit mask of the
+ * flags below. Keeping the input as a plain int allows it to be sampled from 
+ * the keyboard, replayed from a recording or generated by a script in the same way.
+ * 
+ * Our contribution: 100%
+ */
+public class PlayerInput {
+
+    public static final int UP_FLAG     = 1,
+                            DOWN_FLAG   = 1 << 1,
+                            RIGHT_FLAG  = 1 << 2,
+                            LEFT_FLAG   = 1 << 3,
+                            SWITCH_FLAG = 1 << 4;
+
+    private static boolean switchPressed;
+
+    /**
+     * Private constructor, the class provides only static utility methods.
+     */
+    private PlayerInput() {}
+
+    /**
+     * Latches a press of the switch key, so that the next sample() reports it
+     * even if the key has been released before. Should be invoked by the 
+     * input processor on keyDown of D, since a short tap can start and end 
+     * within a single frame.
+     */
+    public static void switchPressed() {
+        switchPressed = true;
+    }
+
+    /**
+     * Samples the current state of the keyboard, together with a latched press
+     * of the switch key, see switchPressed(). The latch is consumed.
+     * 
+     * Precondition:
+     * - the libGDX application has to be running
+     * 
+     * @return the bit mask of the currently pressed keys
+     */
+    public static int sample() {
+        int input = 0;
+        if (Gdx.input.isKeyPressed(UP)) {
+            input |= UP_FLAG;
+        }
+        if (Gdx.input.isKeyPressed(DOWN)) {
+            input |= DOWN_FLAG;
+        }
+        if (Gdx.input.isKeyPressed(RIGHT)) {
+            input |= RIGHT_FLAG;
+        }
+        if (Gdx.input.isKeyPressed(LEFT)) {
+            input |= LEFT_FLAG;
+        }
+        if (Gdx.input.isKeyPressed(D) || switchPressed) {
+            input |= SWITCH_FLAG;
+        }
+        switchPressed = false;
+        return input;
+    }
+
+    /**
+     * Checks whether the flag is set in the input.
+     * @param input the bit mask of the input
+     * @param flag the desired flag
+     * @return true if the flag is set
+     */
+    public static boolean isSet(int input, int flag) {
+        return (input & flag) != 0;
+    }
+}
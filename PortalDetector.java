@@ -3,10 +3,11 @@ package com.mygdx.game;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.utils.Array;
 
 /**
- * Singleton class for detecting portals leading to different areas of the game. 
- * Implements lazy initialization design pattern. Uses nodes defined in Player 
+ * Class for detecting portals leading to different areas of the game. 
+ * Each World creates its own instance. Uses nodes defined in Player 
  * class to determine whether the player has entered the zone denoted as the portal. 
  * The class must first be provided with a Player and TiledMap instances through its utility
  * methods. The portal layer of the TiledMap must be called "Portals".
@@ -15,33 +16,18 @@ import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
  */
 public class PortalDetector {
 
-    private static PortalDetector instance;
     private TiledMapTileLayer portalLayer;
     private Player player;
+    private final Array<PortalCell> portalCells = new Array<PortalCell>();
+    private PortalCell nearestPortal;
 
     /**
-     * Private constructor that creates an instance of PortalDetector.
+     * Constructor that creates a new instance of PortalDetector.
      */
-    private PortalDetector() {
+    public PortalDetector() {
         super();
     }
 
-    /**
-     * Retrieves an instance of PortalDetector. The method will always return the 
-     * same instance of PortalDetector.
-     * 
-     * Postconditions:
-     * - PortalDetector will remain instantiated, and accessible through this method.
-     * 
-     * @return a single instance of PortalDetector
-     */
-    public static PortalDetector getInstance() {
-        if (instance == null) {
-            instance = new PortalDetector();
-        }
-        return instance;
-    }
-
     /**
      * Utility method for setting up the map from which to extract the portal layer.
      * The portal layer of the TiledMap must be called "Portals".
@@ -57,6 +43,33 @@ public class PortalDetector {
      */
     public void setPortalMap(TiledMap map) {
         this.portalLayer = (TiledMapTileLayer) map.getLayers().get("Portal");
+        indexPortalCells();
+    }
+
+    /**
+     * Collects all the portal cells of the current portal layer, so that the 
+     * distance to the nearest portal can be measured without scanning the 
+     * whole layer every frame.
+     * 
+     * Postconditions:
+     * - the previously indexed portal cells are lost
+     */
+    private void indexPortalCells() {
+        portalCells.clear();
+        nearestPortal = null;
+        for (int x = 0; x < portalLayer.getWidth(); x++) {
+            for (int y = 0; y < portalLayer.getHeight(); y++) {
+                Cell cell = portalLayer.getCell(x, y);
+                if (cell != null
+                        && cell.getTile() != null
+                        && cell.getTile().getProperties().containsKey("Portal")) {
+                    portalCells.add(new PortalCell(
+                            (x + 0.5f) * portalLayer.getTileWidth(),
+                            (y + 0.5f) * portalLayer.getTileHeight(),
+                            (String) cell.getTile().getProperties().get("Portal")));
+                }
+            }
+        }
     }
 
     /**
@@ -92,28 +105,74 @@ public class PortalDetector {
     }
     
     /**
-     * Sends a message for changing the current Screen depending of the type of 
-     * portal the player has entered. The types of portals can be specified as 
-     * values of "Portal" property in tiles of desired TiledMap. The method has 
-     * to be updated with each new type.
+     * Returns the area the portal the player has entered leads to. The types of 
+     * portals can be specified as values of "Portal" property in tiles of desired 
+     * TiledMap, and are mapped to the areas they lead to in the area manifest 
+     * (see AreaRegistry). The area itself is changed by the World or the PlayScreen.
+     * 
+     * Preconditions:
+     * - checkForPortal() has returned true for the current position of the player
+     * 
+     * @return the id of the destination area, or null if the portal type is unknown
+     */
+    public String getDestination() {
+        return AreaRegistry.getInstance().getPortalDestination(getPortalType());
+    }
+
+    /**
+     * Returns the type of the portal the player is currently standing in, 
+     * that is the value of "Portal" property of the tile under the player.
+     * 
+     * Preconditions:
+     * - checkForPortal() has returned true for the current position of the player
+     * 
+     * @return the type of the portal
      */
-    public void changeArea() {
+    public String getPortalType() {
         Cell cell = portalLayer.getCell(
                 (int) (player.getX() / portalLayer.getTileWidth()),
                 (int) (player.getY() / portalLayer.getTileHeight()));
-        
-        if (cell.getTile().getProperties().get("Portal").equals("1_2")) {
-            ScreenManager.getInstance().showScreen(ScreenEnum.AREA_TWO);
-        }
-        if (cell.getTile().getProperties().get("Portal").equals("2_1")) {
-            ScreenManager.getInstance().showScreen(ScreenEnum.AREA_ONE_BACK); 
-        }
-        if (cell.getTile().getProperties().get("Portal").equals("2_3")) {
-            ScreenManager.getInstance().showScreen(ScreenEnum.AREA_THREE); 
+        return (String) cell.getTile().getProperties().get("Portal");
+    }
+
+    /**
+     * Returns the distance between the player and the center of the nearest 
+     * portal tile, in world units. Also remembers that portal, so that its 
+     * destination can be retrieved with getNearestDestination().
+     * 
+     * Preconditions:
+     * - PortalDetector has to be provided with a Player and TiledMap using utility methods.
+     * 
+     * @return the distance to the nearest portal, or Float.MAX_VALUE if the 
+     * current map has no portals
+     */
+    public float distanceToNearestPortal() {
+        float nearest = Float.MAX_VALUE;
+        nearestPortal = null;
+        for (int i = 0; i < portalCells.size; i++) {
+            PortalCell portal = portalCells.get(i);
+            float dx = portal.centerX - player.getX();
+            float dy = portal.centerY - player.getY();
+            float distance = dx * dx + dy * dy;
+            if (distance < nearest) {
+                nearest = distance;
+                nearestPortal = portal;
+            }
         }
-        if (cell.getTile().getProperties().get("Portal").equals("3_2")) {
-            ScreenManager.getInstance().showScreen(ScreenEnum.AREA_TWO_BACK); 
+        return nearestPortal == null ? Float.MAX_VALUE : (float) Math.sqrt(nearest);
+    }
+
+    /**
+     * Returns the id of the area the nearest portal leads to. The nearest portal 
+     * is determined by the last call of distanceToNearestPortal().
+     * 
+     * @return the id of the destination area, or null if it is not known
+     */
+    public String getNearestDestination() {
+        if (nearestPortal == null) {
+            return null;
         }
+        return AreaRegistry.getInstance().getPortalDestination(nearestPortal.type);
     }
     
     /**
@@ -136,4 +195,19 @@ public class PortalDetector {
                 && cell.getTile().getProperties().containsKey("Portal");
 
     }
+
+    /**
+     * Center of a single portal tile together with its type.
+     */
+    private static class PortalCell {
+
+        private final float centerX, centerY;
+        private final String type;
+
+        private PortalCell(float centerX, float centerY, String type) {
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.type = type;
+        }
+    }
 }
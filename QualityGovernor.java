@@ -0,0 +1,222 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import java.util.Arrays;
+
+/**
+ * Singleton class adjusting the quality of rendering to the measured frame time.
+ * Implements lazy initialization design pattern. The governor keeps the time 
+ * of each of the last WINDOW frames, and once per window checks their 
+ * percentiles against the frame budget. The time of a frame is the whole 
+ * interval between frames, including the swap of the buffers and waiting for 
+ * the GPU, so that GPU-bound frames are noticed. If the interval is within 
+ * PINNED_RATIO of the budget, it is most likely pinned to the refresh interval
+ * by vertical synchronization or the frame rate cap, and tells nothing about 
+ * the headroom, so the CPU time spent rendering the frame is used instead. 
+ * Otherwise the quality could never be restored. If the 95th percentile 
+ * exceeds the budget, the quality is lowered by one step. If it stays well 
+ * below the budget for RESTORE_WINDOWS windows in a row, the last step is 
+ * taken back. 
+ * The steps, in the order they are applied:
+ * 
+ * 1. SHADOWS - the shadow layer of the map is not rendered,
+ * 2. ANIMATION_RATE - animations change their frames at 15 frames per second,
+ * 3. RENDER_SCALE - the PixelRenderTarget renders at half resolution, skipped 
+ *    if the game does not use the target,
+ * 4. DRAW_DISTANCE - actors far from the center of the view are not drawn.
+ * 
+ * Every change is logged, and the current level and percentiles are available
+ * through the getters.
+ * 
+ * Our contribution: 100%
+ */
+public class QualityGovernor {
+
+    /**
+     * Optional work that can be degraded, in the order it is degraded.
+     */
+    public enum Step {
+        SHADOWS, ANIMATION_RATE, RENDER_SCALE, DRAW_DISTANCE
+    }
+
+    private static final int WINDOW = 120;
+    private static final int RESTORE_WINDOWS = 3;
+    private static final float DEGRADE_RATIO = 1.2f, RESTORE_RATIO = 0.7f;
+    private static final float PINNED_RATIO = 1.1f;
+    private static final float REDUCED_ANIMATION_INTERVAL = 1 / 15f;
+    private static final float REDUCED_RENDER_SCALE = 0.5f;
+    private static final float REDUCED_DRAW_DISTANCE = 640;
+
+    private static QualityGovernor instance;
+    private final float[] frameTimes = new float[WINDOW];
+    private final float[] sorted = new float[WINDOW];
+    private int frameCount;
+    private int level;
+    private int goodWindows;
+    private float budget = 1 / 60f;
+    private float p50, p95, p99;
+    private boolean enabled = true;
+
+    /**
+     * Private constructor that creates an instance of QualityGovernor.
+     */
+    private QualityGovernor() {}
+
+    /**
+     * Retrieves an instance of QualityGovernor. The method will always return 
+     * the same instance of QualityGovernor.
+     * 
+     * Postconditions:
+     * - QualityGovernor will remain instantiated, and accessible through this method.
+     * 
+     * @return a single instance of QualityGovernor
+     */
+    public static QualityGovernor getInstance() {
+        if (instance == null) {
+            instance = new QualityGovernor();
+        }
+        return instance;
+    }
+
+    /**
+     * Records the time of a single frame. Should be invoked once per frame.
+     * @param renderTime the CPU time spent rendering the frame in seconds
+     * @param interval the time since the previous frame in seconds, or 0 if unknown
+     */
+    public void frame(float renderTime, float interval) {
+        frameTimes[frameCount++] = interval <= budget * PINNED_RATIO ? renderTime : interval;
+        if (frameCount < WINDOW) {
+            return;
+        }
+        frameCount = 0;
+        System.arraycopy(frameTimes, 0, sorted, 0, WINDOW);
+        Arrays.sort(sorted);
+        p50 = sorted[WINDOW / 2];
+        p95 = sorted[WINDOW * 95 / 100];
+        p99 = sorted[WINDOW * 99 / 100];
+        if (enabled) {
+            evaluate();
+        }
+    }
+
+    private void evaluate() {
+        if (p95 > budget * DEGRADE_RATIO && level < Step.values().length) {
+            goodWindows = 0;
+            int next = level + 1;
+            while (next < Step.values().length && !isApplicable(Step.values()[next - 1])) {
+                next++;
+            }
+            setLevel(next);
+        } else if (p95 < budget * RESTORE_RATIO && level > 0) {
+            if (++goodWindows >= RESTORE_WINDOWS) {
+                goodWindows = 0;
+                int next = level - 1;
+                while (next > 0 && !isApplicable(Step.values()[next - 1])) {
+                    next--;
+                }
+                setLevel(next);
+            }
+        } else {
+            goodWindows = 0;
+        }
+    }
+
+    /**
+     * Checks whether degrading the step has any effect in the current setup.
+     * @param step the desired step
+     * @return false if the step is skipped
+     */
+    private boolean isApplicable(Step step) {
+        return step != Step.RENDER_SCALE || GameCore.getInstance().getRenderTarget() != null;
+    }
+
+    /**
+     * Sets the quality level, that is the number of steps degraded, and applies it.
+     * Steps skipped as not applicable count towards the level.
+     * @param level the desired level, 0 being the full quality
+     */
+    public void setLevel(int level) {
+        int previous = this.level;
+        this.level = Math.max(0, Math.min(level, Step.values().length));
+        AnimationClock.setUpdateInterval(isDegraded(Step.ANIMATION_RATE) ? REDUCED_ANIMATION_INTERVAL : 0);
+        PixelRenderTarget target = GameCore.getInstance().getRenderTarget();
+        if (target != null) {
+            target.setRenderScale(isDegraded(Step.RENDER_SCALE) ? REDUCED_RENDER_SCALE : 1);
+        }
+        if (previous != this.level && Gdx.app != null) {
+            Step step = Step.values()[Math.max(previous, this.level) - 1];
+            Gdx.app.log("QualityGovernor", String.format("%s %s, level %d, frame p50=%.1fms p95=%.1fms p99=%.1fms",
+                    this.level > previous ? "degraded" : "restored", step, this.level,
+                    p50 * 1000, p95 * 1000, p99 * 1000));
+        }
+    }
+
+    /**
+     * Checks whether the step is currently degraded.
+     * @param step the desired step
+     * @return true if the optional work of the step is reduced
+     */
+    public boolean isDegraded(Step step) {
+        return step.ordinal() < level;
+    }
+
+    /**
+     * Returns the distance from the center of the view beyond which actors 
+     * are not drawn.
+     * @return the draw distance in world units, or Float.MAX_VALUE if not limited
+     */
+    public float getDrawDistance() {
+        return isDegraded(Step.DRAW_DISTANCE) ? REDUCED_DRAW_DISTANCE : Float.MAX_VALUE;
+    }
+
+    /**
+     * Sets the time of a single frame the game aims for.
+     * @param budget the frame budget in seconds
+     */
+    public void setBudget(float budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Turns the automatic adjustment on or off. Turning it off restores the full quality.
+     * @param enabled true to adjust the quality automatically
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            setLevel(0);
+        }
+    }
+
+    /**
+     * Returns the current quality level.
+     * @return the number of steps degraded
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the median frame time of the last window.
+     * @return the frame time in seconds
+     */
+    public float getP50() {
+        return p50;
+    }
+
+    /**
+     * Returns the 95th percentile of frame time of the last window.
+     * @return the frame time in seconds
+     */
+    public float getP95() {
+        return p95;
+    }
+
+    /**
+     * Returns the 99th percentile of frame time of the last window.
+     * @return the frame time in seconds
+     */
+    public float getP99() {
+        return p99;
+    }
+}
@@ -0,0 +1,120 @@
+package com.mygdx.game;
+
+/**
+ * State of a single World as replicated from the server to its client. Positions
+ * are quantized to a grid of QUANTUM world units, velocities to VELOCITY_QUANTUM
+ * world units per second, and flags are packed as bits, 
+ * so that the state can be delta-compressed by SnapshotCodec.
+ * 
+ * Our contribution: 100%
+ */
+public class ReplicatedState {
+
+    /**
+     * The size of a single step of the quantized positions in world units.
+     */
+    public static final float QUANTUM = 0.25f;
+    /**
+     * The size of a single step of the quantized velocities in world units per second.
+     */
+    public static final float VELOCITY_QUANTUM = 1f;
+    /**
+     * Flag set when the 3D mode of the World is turned on.
+     */
+    public static final int THIRD_DIMENSION_FLAG = 1;
+
+    /**
+     * The server tick the state was captured at, or -1 if the state is empty.
+     */
+    public int tick = -1;
+    public int areaIndex;
+    public int posX, posY;
+    public int velX, velY;
+    public int flags;
+    /**
+     * The sequence number of the last input of the client applied to the World.
+     */
+    public int lastInput;
+
+    /**
+     * Captures the state of the World.
+     * @param world the desired World
+     * @param tick the current server tick
+     * @param lastInput the sequence number of the last input applied to the World
+     */
+    public void capture(World world, int tick, int lastInput) {
+        this.tick = tick;
+        this.areaIndex = AreaRegistry.getInstance().getAreaIndex(world.getAreaId());
+        this.posX = quantize(world.getPlayer().getX());
+        this.posY = quantize(world.getPlayer().getY());
+        this.velX = Math.round(world.getPlayer().getVelocityX() / VELOCITY_QUANTUM);
+        this.velY = Math.round(world.getPlayer().getVelocityY() / VELOCITY_QUANTUM);
+        this.flags = world.isThirdDimensionMode() ? THIRD_DIMENSION_FLAG : 0;
+        this.lastInput = lastInput;
+    }
+
+    /**
+     * Copies the given state into this one.
+     * @param other the state to be copied
+     */
+    public void set(ReplicatedState other) {
+        tick = other.tick;
+        areaIndex = other.areaIndex;
+        posX = other.posX;
+        posY = other.posY;
+        velX = other.velX;
+        velY = other.velY;
+        flags = other.flags;
+        lastInput = other.lastInput;
+    }
+
+    /**
+     * Returns the X-position of the player in world units.
+     * @return the X-position of the player
+     */
+    public float getX() {
+        return posX * QUANTUM;
+    }
+
+    /**
+     * Returns the Y-position of the player in world units.
+     * @return the Y-position of the player
+     */
+    public float getY() {
+        return posY * QUANTUM;
+    }
+
+    /**
+     * Returns the X-component of the velocity of the player in world units per second.
+     * @return the X-component of the velocity of the player
+     */
+    public float getVelocityX() {
+        return velX * VELOCITY_QUANTUM;
+    }
+
+    /**
+     * Returns the Y-component of the velocity of the player in world units per second.
+     * @return the Y-component of the velocity of the player
+     */
+    public float getVelocityY() {
+        return velY * VELOCITY_QUANTUM;
+    }
+
+    /**
+     * Checks whether the flag is set in this state.
+     * @param flag the desired flag
+     * @return true if the flag is set
+     */
+    public boolean isSet(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Quantizes the coordinate to the grid of QUANTUM world units.
+     * @param value the coordinate in world units
+     * @return the quantized coordinate
+     */
+    public static int quantize(float value) {
+        return Math.round(value / QUANTUM);
+    }
+}
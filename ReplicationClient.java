@@ -0,0 +1,210 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Client of the ReplicationServer. Predicts the movement of the player by 
+ * stepping a local World with each input as soon as it is sampled, and sends 
+ * the input to the server. When a snapshot arrives, the local World is reset 
+ * to the authoritative state, and the inputs the server has not applied yet 
+ * are replayed on top of it. Since the local World uses its own 
+ * CollisionDetector on the same maps, the replay matches the server unless
+ * packets were lost or the server state diverged.
+ * 
+ * Inputs are repeated in every packet until a snapshot acknowledges them.
+ * 
+ * This class uses disposable elements. Please remember to run dispose() when 
+ * the client is no longer needed to avoid memory leaks.
+ * 
+ * Our contribution: 100%
+ */
+public class ReplicationClient implements Disposable {
+
+    private static final int PENDING = 64;
+    /**
+     * The distance between the replayed and the predicted position, in world 
+     * units, above which the prediction counts as corrected. The snapshots are 
+     * quantized, so a replay rarely lands exactly on the prediction.
+     */
+    private static final float CORRECTION_TOLERANCE = 4 * ReplicatedState.QUANTUM;
+
+    private final DatagramChannel channel;
+    private final World world;
+    private final ReplicatedState[] received = new ReplicatedState[ReplicationServer.HISTORY];
+    private final ReplicatedState decoded = new ReplicatedState();
+    private final ReplicatedState latest = new ReplicatedState();
+    private final int[] pendingInputs = new int[PENDING];
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private int sequence;
+    private long bytesSent, bytesReceived;
+    private int corrections;
+
+    /**
+     * Creates an instance of ReplicationClient connected to the server.
+     * 
+     * Precondition:
+     * - AreaRegistry has to be initialized
+     * 
+     * @param server the address of the ReplicationServer
+     * @param maps the source of the maps of the local World
+     * @param startArea the id of the area the player starts in, the same as on the server
+     */
+    public ReplicationClient(InetSocketAddress server, World.MapSource maps, String startArea) {
+        world = new World(maps, startArea);
+        for (int i = 0; i < received.length; i++) {
+            received[i] = new ReplicatedState();
+        }
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.connect(server);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot connect to replication server " + server, e);
+        }
+    }
+
+    /**
+     * Applies the input to the local World, and sends it to the server 
+     * together with the inputs not acknowledged yet.
+     * @param input the bit mask of PlayerInput flags
+     */
+    public void tick(int input) {
+        sequence++;
+        pendingInputs[sequence % PENDING] = input;
+        world.step(input);
+
+        int first = Math.max(latest.lastInput + 1, sequence - ReplicationServer.MAX_INPUTS_PER_PACKET + 1);
+        first = Math.max(first, sequence - PENDING + 1);
+        buffer.clear();
+        buffer.put(ReplicationServer.INPUT);
+        buffer.putInt(latest.tick);
+        buffer.put((byte) (sequence - first + 1));
+        for (int s = first; s <= sequence; s++) {
+            buffer.putInt(s);
+            buffer.put((byte) pendingInputs[s % PENDING]);
+        }
+        buffer.flip();
+        try {
+            bytesSent += channel.write(buffer);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Replication failed", e);
+        }
+    }
+
+    /**
+     * Reads all the snapshots received from the server, and reconciles the 
+     * local World with the newest of them.
+     */
+    public void poll() {
+        boolean updated = false;
+        try {
+            int read;
+            buffer.clear();
+            while ((read = channel.read(buffer)) > 0) {
+                bytesReceived += read;
+                buffer.flip();
+                if (buffer.get(0) == SnapshotCodec.SNAPSHOT && readSnapshot(buffer)) {
+                    updated = true;
+                }
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Replication failed", e);
+        }
+        if (updated) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Decodes the snapshot, if its baseline is still known.
+     * @return true if the snapshot is newer than the latest one
+     */
+    private boolean readSnapshot(ByteBuffer in) {
+        int baselineTick = SnapshotCodec.peekBaseline(in);
+        ReplicatedState baseline = null;
+        if (baselineTick >= 0) {
+            baseline = received[baselineTick % received.length];
+            if (baseline.tick != baselineTick) {
+                return false;
+            }
+        }
+        codec.decode(in, baseline, decoded);
+        received[decoded.tick % received.length].set(decoded);
+        if (decoded.tick > latest.tick) {
+            latest.set(decoded);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Resets the local World to the latest snapshot, and replays the inputs
+     * the server has not applied yet.
+     */
+    private void reconcile() {
+        float predictedX = world.getPlayer().getX(), predictedY = world.getPlayer().getY();
+        int previousInput = latest.lastInput > 0 ? pendingInputs[latest.lastInput % PENDING] : 0;
+        world.restore(AreaRegistry.getInstance().getAreaId(latest.areaIndex), latest.getX(), latest.getY(),
+                latest.getVelocityX(), latest.getVelocityY(),
+                latest.isSet(ReplicatedState.THIRD_DIMENSION_FLAG), previousInput);
+        for (int s = Math.max(latest.lastInput + 1, sequence - PENDING + 1); s <= sequence; s++) {
+            world.step(pendingInputs[s % PENDING]);
+        }
+        if (Math.abs(world.getPlayer().getX() - predictedX) > CORRECTION_TOLERANCE
+                || Math.abs(world.getPlayer().getY() - predictedY) > CORRECTION_TOLERANCE) {
+            corrections++;
+        }
+    }
+
+    /**
+     * Returns the local, predicted World.
+     * @return the World of the client
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns the number of times the prediction had to be corrected by more 
+     * than CORRECTION_TOLERANCE.
+     * @return the number of corrections
+     */
+    public int getCorrections() {
+        return corrections;
+    }
+
+    /**
+     * Returns the total number of bytes sent to the server.
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Returns the total number of bytes received from the server.
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Utility method for closing the socket of the client. Does not run automatically!
+     */
+    @Override
+    public void dispose() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+}
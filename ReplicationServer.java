@@ -0,0 +1,283 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Authoritative server replicating the state of its clients over UDP. Each 
+ * client gets its own World, which is stepped once for every input received 
+ * from the client, but at most once per tick, so a client sending inputs faster
+ * than the server ticks cannot move faster than the simulation allows. Inputs
+ * left over are applied on the following ticks, as the client repeats them 
+ * until acknowledged. On every tick the server sends each client a snapshot of 
+ * its World, delta-compressed against the last snapshot the client has 
+ * acknowledged (see SnapshotCodec).
+ * 
+ * Clients are identified by their address, and are registered on their first
+ * input packet, up to the maximal number of clients given to the constructor.
+ * Packets of unknown type, of a length not matching their number of inputs, or
+ * from new addresses once the server is full are dropped. The server is driven 
+ * by calling tick() from a single thread.
+ * 
+ * Input packet layout, sent by ReplicationClient:
+ * 
+ *     byte  type (INPUT)
+ *     int   tick of the last snapshot received, or -1
+ *     byte  number of inputs
+ *     for each input, oldest first:
+ *       int   sequence number
+ *       byte  bit mask of PlayerInput flags
+ * 
+ * This class uses disposable elements. Please remember to run dispose() when 
+ * the server is no longer needed to avoid memory leaks.
+ * 
+ * Our contribution: 100%
+ */
+public class ReplicationServer implements Disposable {
+
+    /**
+     * Type of the packet carrying inputs, sent by the client.
+     */
+    public static final byte INPUT = 1;
+    /**
+     * The number of sent snapshots kept per client as possible baselines.
+     */
+    static final int HISTORY = 32;
+    /**
+     * The maximal number of inputs in a single input packet.
+     */
+    static final int MAX_INPUTS_PER_PACKET = 8;
+    private static final int INPUT_SIZE = 5;
+
+    private final DatagramChannel channel;
+    private final World.MapSource maps;
+    private final String startArea;
+    private final int maxClients;
+    private final ObjectMap<SocketAddress, Client> clients = new ObjectMap<SocketAddress, Client>();
+    private final Array<Client> clientList = new Array<Client>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private int tick;
+    private long tickNanos, bytesSent;
+    private int droppedPackets;
+
+    /**
+     * Creates an instance of ReplicationServer, and binds it to the given address.
+     * 
+     * Precondition:
+     * - AreaRegistry has to be initialized
+     * 
+     * @param address the address to listen on, e.g. a loopback address with port 0
+     * @param maps the source of the maps of the Worlds
+     * @param startArea the id of the area new clients start in
+     * @param maxClients the maximal number of clients
+     */
+    public ReplicationServer(InetSocketAddress address, World.MapSource maps, String startArea, int maxClients) {
+        this.maps = maps;
+        this.startArea = startArea;
+        this.maxClients = maxClients;
+        try {
+            channel = DatagramChannel.open();
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, 4 * 1024 * 1024);
+            channel.configureBlocking(false);
+            channel.bind(address);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot bind replication server to " + address, e);
+        }
+    }
+
+    /**
+     * Runs a single tick of the server: applies all the received inputs to the
+     * Worlds of the clients, and sends each client a snapshot of its World.
+     */
+    public void tick() {
+        long start = System.nanoTime();
+        try {
+            SocketAddress sender;
+            buffer.clear();
+            while ((sender = channel.receive(buffer)) != null) {
+                buffer.flip();
+                Client client;
+                if (isValidInput(buffer) && (client = getClient(sender)) != null) {
+                    buffer.get();
+                    readInputs(client, buffer);
+                } else {
+                    droppedPackets++;
+                }
+                buffer.clear();
+            }
+
+            tick++;
+            for (int i = 0; i < clientList.size; i++) {
+                sendSnapshot(clientList.get(i));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Replication failed", e);
+        }
+        tickNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Checks whether the packet is an input packet of a valid length.
+     */
+    private static boolean isValidInput(ByteBuffer in) {
+        if (in.remaining() < 6 || in.get(in.position()) != INPUT) {
+            return false;
+        }
+        int count = in.get(in.position() + 5);
+        return count > 0 && count <= MAX_INPUTS_PER_PACKET
+                && in.remaining() == 6 + count * INPUT_SIZE;
+    }
+
+    /**
+     * Returns the client of the address, registering a new one if the server
+     * is not full.
+     * @return the client, or null if the server is full
+     */
+    private Client getClient(SocketAddress address) {
+        Client client = clients.get(address);
+        if (client == null) {
+            if (clientList.size >= maxClients) {
+                return null;
+            }
+            client = new Client(address, new World(maps, startArea));
+            clients.put(address, client);
+            clientList.add(client);
+        }
+        return client;
+    }
+
+    /**
+     * Applies the oldest input of the packet that has not been applied yet, 
+     * unless the client has already been stepped on this tick. Inputs are 
+     * repeated by the client until acknowledged, so a lost packet is covered 
+     * by the next one.
+     */
+    private void readInputs(Client client, ByteBuffer in) {
+        int ackTick = in.getInt();
+        if (ackTick <= tick) {
+            client.ackTick = Math.max(client.ackTick, ackTick);
+        }
+        int count = in.get();
+        for (int i = 0; i < count; i++) {
+            int sequence = in.getInt();
+            int input = in.get();
+            if (sequence > client.lastInput && client.steppedTick != tick) {
+                client.world.step(input);
+                client.lastInput = sequence;
+                client.steppedTick = tick;
+            }
+        }
+    }
+
+    private void sendSnapshot(Client client) throws IOException {
+        ReplicatedState baseline = null;
+        if (client.ackTick >= 0 && tick - client.ackTick < HISTORY) {
+            ReplicatedState acked = client.sent[client.ackTick % HISTORY];
+            if (acked.tick == client.ackTick) {
+                baseline = acked;
+            }
+        }
+        ReplicatedState state = client.sent[tick % HISTORY];
+        state.capture(client.world, tick, client.lastInput);
+
+        buffer.clear();
+        codec.encode(state, baseline, buffer);
+        buffer.flip();
+        bytesSent += channel.send(buffer, client.address);
+    }
+
+    /**
+     * Returns the address the server is bound to.
+     * @return the local address of the server
+     */
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the number of connected clients.
+     * @return the number of clients
+     */
+    public int getClientCount() {
+        return clientList.size;
+    }
+
+    /**
+     * Returns the number of received packets that were dropped as invalid, or 
+     * because the server was full.
+     * @return the number of dropped packets
+     */
+    public int getDroppedPackets() {
+        return droppedPackets;
+    }
+
+    /**
+     * Returns the number of ticks run by the server.
+     * @return the number of ticks
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the total time spent in tick().
+     * @return the time in nanoseconds
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Returns the total number of bytes of snapshots sent to all the clients.
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Utility method for closing the socket of the server. Does not run automatically!
+     */
+    @Override
+    public void dispose() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * A connected client together with its World and sent snapshots.
+     */
+    private static class Client {
+
+        private final SocketAddress address;
+        private final World world;
+        private final ReplicatedState[] sent = new ReplicatedState[HISTORY];
+        private int lastInput;
+        private int ackTick = -1;
+        private int steppedTick = -1;
+
+        private Client(SocketAddress address, World world) {
+            this.address = address;
+            this.world = world;
+            for (int i = 0; i < HISTORY; i++) {
+                sent[i] = new ReplicatedState();
+            }
+        }
+    }
+}
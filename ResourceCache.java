@@ -0,0 +1,237 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.Disposable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reference-counted, size-aware cache of disposable assets. Each asset is 
+ * identified by a key (usually its file name), and is accessed through a 
+ * ResourceHandle obtained with acquire(String, Loader). An asset stays resident 
+ * while at least one handle to it is held. Released assets are kept around for 
+ * later reuse until the total estimated size of resident assets exceeds the 
+ * budget, at which point the least recently used released assets are disposed.
+ * 
+ * Assets still being referenced are never evicted, so the budget can be 
+ * exceeded temporarily if everything resident is in use. Assets may hold 
+ * handles to other assets of the same cache, and release them when disposed.
+ * 
+ * This class uses disposable elements. Please remember to run dispose() when 
+ * the cache is no longer needed to avoid memory leaks.
+ * 
+ * Our contribution: 100%
+ */
+public class ResourceCache implements Disposable {
+
+    /**
+     * Loads, measures and disposes a single kind of asset.
+     * 
+     * @param <T> the type of the asset
+     */
+    public interface Loader<T extends Disposable> {
+
+        /**
+         * Loads the asset identified by the given key.
+         * 
+         * @param key the key of the asset, usually its file name
+         * @return the loaded asset
+         */
+        T load(String key);
+
+        /**
+         * Estimates the memory taken by the asset, counting both GPU and heap bytes.
+         * 
+         * @param asset the loaded asset
+         * @return the estimated size in bytes
+         */
+        long sizeOf(T asset);
+
+        /**
+         * Disposes the asset, once it is evicted or the cache is disposed.
+         * 
+         * @param key the key of the asset
+         * @param asset the asset to be disposed
+         */
+        void unload(String key, T asset);
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private long budget;
+    private long residentBytes;
+
+    /**
+     * Creates an instance of ResourceCache.
+     * 
+     * @param budget the desired budget of resident assets in bytes
+     */
+    public ResourceCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Acquires a handle to the asset identified by the given key, loading it 
+     * with the given Loader if it is not resident. Each acquired handle has to
+     * be released exactly once.
+     * 
+     * Postconditions:
+     * - the asset stays resident until the handle is released
+     * - released assets may be evicted to fit the budget
+     * 
+     * @param <T> the type of the asset
+     * @param key the key of the asset, usually its file name
+     * @param loader the Loader to be used if the asset is not resident
+     * @return a handle to the asset
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Disposable> ResourceHandle<T> acquire(String key, Loader<T> loader) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            GameEvents.AssetLoad event = new GameEvents.AssetLoad();
+            event.begin();
+            T asset = loader.load(key);
+            entry = new Entry(key, asset, loader.sizeOf(asset), loader);
+            event.asset = key;
+            event.bytes = entry.size;
+            event.commit();
+            entries.put(key, entry);
+            residentBytes += entry.size;
+        }
+        entry.references++;
+        evict();
+        return new ResourceHandle<T>(this, key, (T) entry.asset);
+    }
+
+    /**
+     * Releases a single reference to the asset. Called by ResourceHandle.
+     * Releasing an asset after the whole cache was disposed has no effect.
+     * 
+     * @param key the key of the asset
+     */
+    void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.references == 0) {
+            throw new IllegalStateException("Asset released more times than acquired: " + key);
+        }
+        entry.references--;
+        evict();
+    }
+
+    /**
+     * Disposes the least recently used assets that are not referenced by any 
+     * handle, until the resident assets fit the budget.
+     */
+    private void evict() {
+        Entry victim;
+        while (residentBytes > budget && (victim = removeUnreferenced()) != null) {
+            victim.unload();
+        }
+    }
+
+    /**
+     * Removes the least recently used asset that is not referenced by any handle. 
+     * The asset is disposed by the caller once the iteration is over, since 
+     * disposing it may release other assets of the cache.
+     * 
+     * @return the removed entry, or null if every asset is referenced
+     */
+    private Entry removeUnreferenced() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.references == 0) {
+                iterator.remove();
+                residentBytes -= entry.size;
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets the budget of resident assets, evicting released assets if needed.
+     * 
+     * @param budget the desired budget in bytes
+     */
+    public void setBudget(long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    /**
+     * Returns the budget of resident assets.
+     * 
+     * @return the budget in bytes
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the estimated size of all resident assets.
+     * 
+     * @return the resident size in bytes
+     */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Checks whether the asset identified by the given key is resident.
+     * 
+     * @param key the key of the asset
+     * @return true if the asset is loaded
+     */
+    public boolean isResident(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Utility method for disposing all resident assets, including the ones that
+     * are still referenced. Does not run automatically!
+     * 
+     * Postconditions:
+     * - disposed assets can no longer be used
+     * 
+     * Side-effect:
+     * - accessing disposed assets through existing handles causes thread crash
+     */
+    @Override
+    public void dispose() {
+        Entry[] disposed = entries.values().toArray(new Entry[entries.size()]);
+        entries.clear();
+        residentBytes = 0;
+        for (Entry entry : disposed) {
+            entry.unload();
+        }
+    }
+
+    /**
+     * A single resident asset together with its size, reference count and the
+     * Loader it was loaded with.
+     */
+    private static class Entry {
+
+        private final String key;
+        private final Disposable asset;
+        private final long size;
+        @SuppressWarnings("rawtypes")
+        private final Loader loader;
+        private int references;
+
+        private Entry(String key, Disposable asset, long size, Loader<?> loader) {
+            this.key = key;
+            this.asset = asset;
+            this.size = size;
+            this.loader = loader;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void unload() {
+            loader.unload(key, asset);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A handle to an asset kept resident by ResourceCache. The asset is guaranteed
+ * to stay loaded until the handle is released. Each handle has to be released 
+ * exactly once, after which the asset must not be used through it anymore.
+ * 
+ * Our contribution: 100%
+ * 
+ * @param <T> the type of the asset
+ */
+public class ResourceHandle<T extends Disposable> {
+
+    private final ResourceCache cache;
+    private final String key;
+    private T asset;
+
+    /**
+     * Creates an instance of ResourceHandle. Handles are created by ResourceCache.
+     * 
+     * @param cache the cache holding the asset
+     * @param key the key of the asset
+     * @param asset the asset
+     */
+    ResourceHandle(ResourceCache cache, String key, T asset) {
+        this.cache = cache;
+        this.key = key;
+        this.asset = asset;
+    }
+
+    /**
+     * Returns the asset of this handle.
+     * 
+     * Precondition:
+     * - the handle must not be released
+     * 
+     * @return the asset
+     */
+    public T get() {
+        if (asset == null) {
+            throw new IllegalStateException("Handle already released: " + key);
+        }
+        return asset;
+    }
+
+    /**
+     * Returns the key of the asset, usually its file name.
+     * 
+     * @return the key of the asset
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Releases the asset. Releasing a handle twice has no effect.
+     * 
+     * Postconditions:
+     * - the asset can no longer be accessed through this handle
+     * - the asset may be disposed by the cache
+     */
+    public void release() {
+        if (asset != null) {
+            asset = null;
+            cache.release(key);
+        }
+    }
+}
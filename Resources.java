@@ -1,12 +1,29 @@
 package com.mygdx.game;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.ObjectSet;
 
 /**
  * A class responsible for resources management. It can load, store and dispose resource elements.
+ * The small textures of the player are loaded once and kept for the whole game. Maps and
+ * remaining textures are kept in a ResourceCache, and have to be acquired through
+ * ResourceHandles, and released when no longer needed. Released assets stay loaded until the
+ * cache runs out of its budget, at which point the least recently used ones are disposed.
+ * Textures are taken from the pre-decoded AssetBundle, if it has been built, and decoded
+ * from their PNG files otherwise. Maps can be requested ahead of time with requestMap(String):
+ * their files are read and parsed by the AssetManager on its own thread, while only their
+ * textures are created on the rendering thread by updateLoading().
  * This class uses disposable elements, and does not run dispose() automatically. Please remember
  * to dispose used assets after they are no longer needed to avoid memory leaks.
  * 
@@ -14,12 +31,80 @@ import com.badlogic.gdx.maps.tiled.TmxMapLoader;
  */
 public class Resources {
 
+    /**
+     * The default budget of the cache in bytes.
+     */
+    public static final long DEFAULT_BUDGET = 128L * 1024 * 1024;
+    /**
+     * Estimated heap size of a single TiledMap cell, including the reference in the layer.
+     */
+    private static final long CELL_BYTES = 40;
+    /**
+     * Property of maps whose tileset textures are acquired from the cache, 
+     * rather than owned by the map.
+     */
+    public static final String SHARED_TEXTURES = "sharedTextures";
+
     private static Texture playerTexture2D, playerTexture3D;
-    public static Texture splash;
-    public static TiledMap mapOne, mapTwo, mapThree;
+    private static Texture particleTexture;
+    private static TextureRegion particleRegion;
+    private static AssetBundle bundle;
+    private static AssetManager mapManager;
+    private static final ObjectSet<String> requestedMaps = new ObjectSet<String>();
+    private static final ResourceCache cache = new ResourceCache(DEFAULT_BUDGET);
+
+    private static final ResourceCache.Loader<Texture> textureLoader = new ResourceCache.Loader<Texture>() {
+        @Override
+        public Texture load(String key) {
+            return loadTexture(key);
+        }
+
+        @Override
+        public long sizeOf(Texture texture) {
+            return textureBytes(texture);
+        }
+
+        @Override
+        public void unload(String key, Texture texture) {
+            texture.dispose();
+        }
+    };
+
+    private static final ResourceCache.Loader<TiledMap> mapLoader = new ResourceCache.Loader<TiledMap>() {
+        @Override
+        public TiledMap load(String key) {
+            TiledMap map;
+            if (AreaGenerator.isGenerated(key)) {
+                map = AreaGenerator.load(key);
+            } else if (mapManager != null) {
+                requestMap(key);
+                mapManager.finishLoadingAsset(key);
+                map = mapManager.get(key, TiledMap.class);
+                requestedMaps.remove(key);
+            } else {
+                map = new TmxMapLoader().load(key);
+            }
+            TileAnimator.install(map);
+            return map;
+        }
+
+        @Override
+        public long sizeOf(TiledMap map) {
+            return mapBytes(map);
+        }
+
+        @Override
+        public void unload(String key, TiledMap map) {
+            if (mapManager != null && mapManager.isLoaded(key)) {
+                mapManager.unload(key);
+            } else {
+                map.dispose();
+            }
+        }
+    };
 
     /**
-     * Loads all the resources to be used by the game. Any loaded assets should be also 
+     * Loads the resources used during the whole game. Any loaded assets should be also 
      * disposed when no longer needed. All resources are contained in Supergiera/core/assets directory.
      * 
      * Postconditions:
@@ -27,12 +112,126 @@ public class Resources {
      * 
      */
     public static void load() {
-        playerTexture3D = new Texture(Gdx.files.internal("dimey64-3d.png"));
-        playerTexture2D = new Texture(Gdx.files.internal("dimey64-2d.png"));
-        mapOne          = new TmxMapLoader().load("map.tmx");
-        mapTwo          = new TmxMapLoader().load("map2.tmx");
-        mapThree        = new TmxMapLoader().load("map3.tmx");
-        splash          = new Texture(Gdx.files.internal("splash.png"));
+        GameEvents.AssetLoad event = new GameEvents.AssetLoad();
+        event.begin();
+        bundle          = AssetBundle.open(Gdx.files.internal("assets.bundle"));
+        mapManager      = new AssetManager(new InternalFileHandleResolver());
+        playerTexture3D = loadTexture("dimey64-3d.png");
+        playerTexture2D = loadTexture("dimey64-2d.png");
+
+        Pixmap pixel = new Pixmap(4, 4, Pixmap.Format.RGBA8888);
+        pixel.setColor(1, 1, 1, 1);
+        pixel.fill();
+        particleTexture = new Texture(pixel);
+        particleRegion = new TextureRegion(particleTexture);
+        pixel.dispose();
+        event.asset = "Resources.load";
+        event.bytes = textureBytes(playerTexture2D) + textureBytes(playerTexture3D)
+                + textureBytes(particleTexture);
+        event.commit();
+    }
+
+    /**
+     * Acquires a TiledMap, loading it if it is not resident. The returned 
+     * handle has to be released when the map is no longer needed.
+     * 
+     * @param fileName the file name of the map inside the assets directory
+     * @return a handle to the TiledMap
+     */
+    public static ResourceHandle<TiledMap> acquireMap(String fileName) {
+        return cache.acquire(fileName, mapLoader);
+    }
+
+    /**
+     * Starts loading the TiledMap in the background, unless it is resident,
+     * generated, or already requested. The map becomes ready once enough calls 
+     * of updateLoading() have been made, see isMapReady(String). Until it is 
+     * acquired, the map is not held by the cache, and does not count towards 
+     * its budget, so requests that are no longer needed should be cancelled 
+     * with cancelMapRequests(String).
+     * 
+     * @param fileName the file name of the map inside the assets directory
+     */
+    public static void requestMap(String fileName) {
+        if (mapManager != null && !AreaGenerator.isGenerated(fileName) 
+                && !cache.isResident(fileName) && !mapManager.contains(fileName)) {
+            mapManager.load(fileName, TiledMap.class);
+            requestedMaps.add(fileName);
+        }
+    }
+
+    /**
+     * Cancels the background loading of the requested maps that have not been
+     * acquired, and unloads those already loaded.
+     * 
+     * @param keep the file name of a map whose request is kept, or null
+     */
+    public static void cancelMapRequests(String keep) {
+        if (mapManager == null) {
+            return;
+        }
+        ObjectSet.ObjectSetIterator<String> iterator = requestedMaps.iterator();
+        while (iterator.hasNext()) {
+            String fileName = iterator.next();
+            if (!fileName.equals(keep)) {
+                if (mapManager.contains(fileName)) {
+                    mapManager.unload(fileName);
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether acquiring the TiledMap would not have to read its file.
+     * Generated maps are always ready, as they are generated on acquiring.
+     * 
+     * @param fileName the file name of the map inside the assets directory
+     * @return true if the map is resident or loaded in the background
+     */
+    public static boolean isMapReady(String fileName) {
+        return mapManager == null || AreaGenerator.isGenerated(fileName) 
+                || cache.isResident(fileName) || mapManager.isLoaded(fileName);
+    }
+
+    /**
+     * Advances the background loading of requested maps by a single step, 
+     * creating the GL resources of the map whose file has been parsed. 
+     * Has to be called from the rendering thread.
+     */
+    public static void updateLoading() {
+        if (mapManager != null) {
+            mapManager.update();
+        }
+    }
+
+    /**
+     * Acquires a Texture, loading it if it is not resident. The returned 
+     * handle has to be released when the texture is no longer needed.
+     * 
+     * @param fileName the file name of the texture inside the assets directory
+     * @return a handle to the Texture
+     */
+    public static ResourceHandle<Texture> acquireTexture(String fileName) {
+        return cache.acquire(fileName, textureLoader);
+    }
+
+    /**
+     * Sets the budget of the cache holding maps and textures.
+     * 
+     * @param bytes the desired budget in bytes
+     */
+    public static void setBudget(long bytes) {
+        cache.setBudget(bytes);
+    }
+
+    /**
+     * Returns the estimated size of maps and textures currently loaded in the cache.
+     * 
+     * @return the resident size in bytes
+     */
+    public static long getResidentBytes() {
+        return cache.getResidentBytes();
     }
     
     /**
@@ -47,6 +246,70 @@ public class Resources {
         }
         return playerTexture2D;
     }
+
+    /**
+     * Loads the texture from the AssetBundle, or decodes its file if it is not bundled.
+     * 
+     * @param fileName the file name of the texture inside the assets directory
+     * @return the loaded Texture
+     */
+    private static Texture loadTexture(String fileName) {
+        if (bundle != null && bundle.contains(fileName)) {
+            return bundle.loadTexture(fileName);
+        }
+        return new Texture(Gdx.files.internal(fileName));
+    }
+
+    /**
+     * Returns the plain white region used to draw particles, to be tinted by 
+     * the ParticleSystem.
+     * 
+     * @return the TextureRegion of a single particle
+     */
+    public static TextureRegion getParticleRegion() {
+        return particleRegion;
+    }
+
+    /**
+     * Estimates the GPU memory taken by the texture, assuming 4 bytes per pixel.
+     * 
+     * @param texture the desired Texture
+     * @return the estimated size in bytes
+     */
+    private static long textureBytes(Texture texture) {
+        return 4L * texture.getWidth() * texture.getHeight();
+    }
+
+    /**
+     * Estimates the memory taken by the map: the cells of its tile layers on 
+     * the heap, and the tileset textures owned by the map on the GPU. Textures
+     * of maps marked with SHARED_TEXTURES are accounted for by the cache itself.
+     * 
+     * @param map the desired TiledMap
+     * @return the estimated size in bytes
+     */
+    private static long mapBytes(TiledMap map) {
+        long bytes = 0;
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer) {
+                TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+                bytes += CELL_BYTES * tileLayer.getWidth() * tileLayer.getHeight();
+            }
+        }
+        if (map.getProperties().containsKey(SHARED_TEXTURES)) {
+            return bytes;
+        }
+        ObjectSet<Texture> textures = new ObjectSet<Texture>();
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            for (TiledMapTile tile : tileSet) {
+                textures.add(tile.getTextureRegion().getTexture());
+            }
+        }
+        for (Texture texture : textures) {
+            bytes += textureBytes(texture);
+        }
+        return bytes;
+    }
     
     /**
      * Utility method for disposing assets. This method should be invoked when the assets 
@@ -61,9 +324,15 @@ public class Resources {
     public static void dispose() {
         playerTexture2D.dispose();
         playerTexture3D.dispose();
-        mapOne.dispose();
-        mapTwo.dispose();
-        mapThree.dispose();
-        splash.dispose();
+        particleTexture.dispose();
+        cache.dispose();
+        if (mapManager != null) {
+            mapManager.dispose();
+            mapManager = null;
+        }
+        requestedMaps.clear();
+        if (bundle != null) {
+            bundle.dispose();
+        }
     }
 }
@@ -1,8 +1,9 @@
 package com.mygdx.game;
 
 /**
- * Enumeration for all Screens in the game. It provides ScreenManager class with an instance
- * of AbstractScreen to be processed.
+ * Enumeration for the non-play Screens in the game. It provides ScreenManager class with an 
+ * instance of AbstractScreen to be processed. Play areas are not listed here, they are 
+ * declared in the area manifest and created through AreaRegistry.
  * 
  * Can be interpreted as a Factory class for AbstractScreen objects.
  * 
@@ -14,36 +15,6 @@ public enum ScreenEnum {
         public AbstractScreen getScreen() {
             return new SplashScreen();
         }
-    },
-    AREA_ONE {
-        @Override
-        public AbstractScreen getScreen() {
-            return new PlayScreen(Resources.mapOne, 1200, 960, 768, 640);
-        }
-    },
-    AREA_ONE_BACK {
-        @Override
-        public AbstractScreen getScreen() {
-            return new PlayScreen(Resources.mapOne, 1200, 960, 1456, 384);
-        }
-    },
-    AREA_TWO {
-        @Override
-        public AbstractScreen getScreen() {
-            return new PlayScreen(Resources.mapTwo, 800, 640, 144, 640);
-        }
-    },
-    AREA_TWO_BACK {
-        @Override
-        public AbstractScreen getScreen() {
-            return new PlayScreen(Resources.mapTwo, 800, 640, 1456, 640);
-        }
-    },
-    AREA_THREE {
-        @Override
-        public AbstractScreen getScreen() {
-            return new PlayScreen(Resources.mapThree, 1600, 1280, 144, 639);
-        }
     };
 
     /**
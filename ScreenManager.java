@@ -4,7 +4,7 @@ import com.badlogic.gdx.Screen;
 
 /**
  * Singleton class responsible for Screen instances management.
- * In conjuction with ScreenEnum manipulate AbstractScreen instances to be currently shown, 
+ * In conjuction with ScreenEnum and AreaRegistry manipulate AbstractScreen instances to be currently shown, 
  * while disposing the previous ones.
  * Have to be initialized with GameCore instance before it can be used.
  * 
@@ -14,6 +14,8 @@ public class ScreenManager {
 
     private static ScreenManager instance;
     private GameCore game;
+    private String prefetchedArea;
+    private PlayScreen prefetchedScreen;
     
     /**
      * Private constructor creating an instance of ScreenManager.
@@ -54,6 +56,7 @@ public class ScreenManager {
      * 
      * Postconditions:
      * - The current Screen is disposed, and therefore no longer accessible.
+     * - Any prefetched area is disposed.
      * 
      * Side-effects:
      * - NullPointerException
@@ -61,13 +64,113 @@ public class ScreenManager {
      * @param screenEnum the desired ScreenEnum.
      */
     public void showScreen(ScreenEnum screenEnum) {
-        Screen currentScreen = game.getScreen();
+        GameEvents.ScreenTransition event = new GameEvents.ScreenTransition();
+        event.begin();
+        discardPrefetchedScreen();
+        replaceScreen(screenEnum.getScreen());
+        event.target = screenEnum.name();
+        event.commit();
+    }
 
-        AbstractScreen newScreen = screenEnum.getScreen();
+    /**
+     * Shows the PlayScreen of the specified area. The areas are defined in AreaRegistry.
+     * This method disposes current Screen to be replaced with a new one.
+     * If the area has been built ahead of time with prefetchArea(String), 
+     * the prefetched instance is shown instead of building a new one.
+     * 
+     * Pre-conditions:
+     * - ScreenManager have to be initialized with GameCore instance.
+     * 
+     * Postconditions:
+     * - The current Screen is disposed, and therefore no longer accessible.
+     * - Any prefetched area is either shown or disposed.
+     * 
+     * @param areaId the id of the desired area.
+     * @return the PlayScreen of the area, now being the current Screen
+     */
+    public PlayScreen showArea(String areaId) {
+        GameEvents.ScreenTransition event = new GameEvents.ScreenTransition();
+        event.begin();
+        event.target = areaId;
+        event.prefetched = areaId.equals(prefetchedArea);
+        PlayScreen newScreen;
+        if (event.prefetched) {
+            newScreen = prefetchedScreen;
+            prefetchedScreen = null;
+            prefetchedArea = null;
+        } else {
+            newScreen = AreaRegistry.getInstance().getArea(areaId).createScreen();
+        }
+        discardPrefetchedScreen();
+        replaceScreen(newScreen);
+        event.commit();
+        return newScreen;
+    }
+
+    /**
+     * Sets the new Screen of the game, and disposes the previous one.
+     * 
+     * @param newScreen the Screen to be shown
+     */
+    private void replaceScreen(AbstractScreen newScreen) {
+        Screen currentScreen = game.getScreen();
         game.setScreen(newScreen);
 
         if (currentScreen != null) {
             currentScreen.dispose();
         }
     }
+
+    /**
+     * Builds the PlayScreen of the specified area ahead of time, so that a later
+     * call of showArea(String) only has to swap it in. Only one area is kept 
+     * prefetched at a time. If the map of the area is not ready yet, it is only
+     * requested from Resources, to be read and parsed in the background, and 
+     * the Screen is built by a later call once the map is ready. Has to be 
+     * called from the rendering thread, since Screens create GL resources.
+     * 
+     * Postconditions:
+     * - a previously prefetched area of a different id is disposed
+     * - the maps requested for other areas and not acquired are unloaded
+     * 
+     * @param areaId the id of the desired area.
+     */
+    public void prefetchArea(String areaId) {
+        if (areaId.equals(prefetchedArea)) {
+            return;
+        }
+        AreaDefinition area = AreaRegistry.getInstance().getArea(areaId);
+        Resources.cancelMapRequests(area.getMapName());
+        if (!Resources.isMapReady(area.getMapName())) {
+            Resources.requestMap(area.getMapName());
+            return;
+        }
+        PlayScreen screen = area.createScreen();
+        discardPrefetchedScreen();
+        prefetchedScreen = screen;
+        prefetchedArea = areaId;
+    }
+
+    /**
+     * Checks whether the specified area is currently prefetched.
+     * 
+     * @param areaId the id of the desired area.
+     * @return true if the area is prefetched
+     */
+    public boolean isPrefetched(String areaId) {
+        return areaId.equals(prefetchedArea);
+    }
+
+    /**
+     * Disposes the prefetched Screen, if there is one, and cancels the maps 
+     * requested for prefetching that have not been acquired.
+     */
+    public void discardPrefetchedScreen() {
+        if (prefetchedScreen != null) {
+            prefetchedScreen.dispose();
+        }
+        prefetchedScreen = null;
+        prefetchedArea = null;
+        Resources.cancelMapRequests(null);
+    }
 }
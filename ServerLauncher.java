@@ -0,0 +1,81 @@
+package com.mygdx.game.server;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.Array;
+import com.mygdx.game.InputScript;
+import com.mygdx.game.SimulationServer;
+
+/**
+ * Headless launcher of the SimulationServer. Starts the libGDX headless backend,
+ * runs the requested number of sessions and prints the report of the run.
+ * 
+ * Usage: ServerLauncher [sessions] [ticks] [threads] [tick rate] [input recording]
+ *        ServerLauncher --smoke
+ * 
+ * With no input recording given, every session is driven by a RandomWalk seeded
+ * with the number of the session. A tick rate of 0 runs the ticks as fast as possible.
+ * 
+ * The --smoke option runs a short run of SMOKE_SESSIONS sessions for SMOKE_TICKS 
+ * ticks on two threads, and exits with status 1 if the run throws, or if any 
+ * session has not completed every tick.
+ * 
+ * Our contribution: 100%
+ */
+public class ServerLauncher {
+
+    private static final int SMOKE_SESSIONS = 8;
+    private static final long SMOKE_TICKS = 600;
+
+    public static void main(final String[] arg) {
+        final boolean smoke = arg.length > 0 && arg[0].equals("--smoke");
+        final int sessions = smoke ? SMOKE_SESSIONS : arg.length > 0 ? Integer.parseInt(arg[0]) : 1000;
+        final long ticks   = smoke ? SMOKE_TICKS : arg.length > 1 ? Long.parseLong(arg[1]) : 600;
+        final int threads  = smoke ? 2 : arg.length > 2 ? Integer.parseInt(arg[2])
+                                                        : Runtime.getRuntime().availableProcessors();
+        final int tickRate = smoke || arg.length <= 3 ? 0 : Integer.parseInt(arg[3]);
+        final String recording = !smoke && arg.length > 4 ? arg[4] : null;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                Array<InputScript> scripts = new Array<InputScript>(sessions);
+                InputScript recorded = recording == null ? null
+                        : InputScript.Recorded.load(Gdx.files.absolute(recording));
+                for (int i = 0; i < sessions; i++) {
+                    scripts.add(recorded != null ? recorded : new InputScript.RandomWalk(i, 30));
+                }
+
+                SimulationServer server = new SimulationServer(threads);
+                try {
+                    server.createSessions(scripts);
+                    SimulationServer.Report report = server.run(ticks, tickRate);
+                    System.out.println(report);
+                    if (smoke && report.steps != sessions * ticks) {
+                        fail("expected " + sessions * ticks + " steps");
+                    }
+                } catch (RuntimeException e) {
+                    if (!smoke) {
+                        throw e;
+                    }
+                    e.printStackTrace();
+                    fail(e.toString());
+                } finally {
+                    server.dispose();
+                }
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    /**
+     * Ends a failed smoke run with exit status 1.
+     */
+    private static void fail(String reason) {
+        System.err.println("Smoke run failed: " + reason);
+        System.exit(1);
+    }
+}
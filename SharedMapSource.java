@@ -0,0 +1,46 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Source of maps for Worlds simulated without rendering. Each map is loaded 
+ * once, on first request, and then shared read-only by all the Worlds using 
+ * this source, possibly on different threads. The maps are loaded by the 
+ * SimulationMapLoader, without textures, so they can be loaded on any thread,
+ * also by the headless backend.
+ * 
+ * This class uses disposable elements. Please remember to run dispose() when 
+ * the maps are no longer needed to avoid memory leaks.
+ * 
+ * Our contribution: 100%
+ */
+public class SharedMapSource implements World.MapSource, Disposable {
+
+    private final ObjectMap<String, TiledMap> maps = new ObjectMap<String, TiledMap>();
+
+    @Override
+    public synchronized TiledMap getMap(String fileName) {
+        TiledMap map = maps.get(fileName);
+        if (map == null) {
+            map = SimulationMapLoader.load(fileName);
+            maps.put(fileName, map);
+        }
+        return map;
+    }
+
+    /**
+     * Utility method for disposing the loaded maps. Does not run automatically!
+     * 
+     * Postconditions:
+     * - disposed maps can no longer be used
+     */
+    @Override
+    public synchronized void dispose() {
+        for (TiledMap map : maps.values()) {
+            map.dispose();
+        }
+        maps.clear();
+    }
+}
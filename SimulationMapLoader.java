@@ -0,0 +1,120 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.BaseTmxMapLoader;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+/**
+ * Loader of TMX maps for Worlds simulated without rendering. Reads only the
+ * layers the simulation uses, "Portal" and "BlockedAreas", together with the
+ * properties of their tiles, and creates no textures. The maps can therefore
+ * be loaded by the headless backend, which has no GL context, and on any thread.
+ * The tiles of the loaded maps have empty regions and cannot be rendered.
+ *
+ * Generated maps are loaded the same way, see AreaGenerator.load(String, boolean).
+ *
+ * Our contribution: 100%
+ */
+public class SimulationMapLoader {
+
+    private static final String[] LAYERS = {"Portal", "BlockedAreas"};
+    private static final int FLIP_FLAGS = 0xE0000000;
+
+    /**
+     * Private constructor, the class provides only static utility methods.
+     */
+    private SimulationMapLoader() {}
+
+    /**
+     * Loads the layers of the map used by the simulation.
+     *
+     * Precondition:
+     * - a libGDX application (e.g. the headless backend) has to be running
+     *
+     * @param fileName the file name of the map inside the assets directory, or
+     * the name of a generated map
+     * @return the TiledMap without textures
+     * @throws GdxRuntimeException if the map uses external tilesets
+     */
+    public static TiledMap load(String fileName) {
+        if (AreaGenerator.isGenerated(fileName)) {
+            return AreaGenerator.load(fileName, false);
+        }
+        Element root = new XmlReader().parse(Gdx.files.internal(fileName).readString("UTF-8"));
+        int tileWidth = root.getIntAttribute("tilewidth"), tileHeight = root.getIntAttribute("tileheight");
+
+        IntMap<Cell> cells = new IntMap<Cell>();
+        for (Element tileSet : root.getChildrenByName("tileset")) {
+            if (tileSet.getAttribute("source", null) != null) {
+                throw new GdxRuntimeException("External tilesets are not supported: " + fileName);
+            }
+            int firstGid = tileSet.getIntAttribute("firstgid");
+            for (Element tile : tileSet.getChildrenByName("tile")) {
+                TiledMapTile mapTile = cell(cells, firstGid + tile.getIntAttribute("id")).getTile();
+                Element properties = tile.getChildByName("properties");
+                if (properties != null) {
+                    for (Element property : properties.getChildrenByName("property")) {
+                        mapTile.getProperties().put(property.getAttribute("name"),
+                                property.getAttribute("value", property.getText()));
+                    }
+                }
+            }
+        }
+
+        TiledMap map = new TiledMap();
+        for (Element layer : root.getChildrenByName("layer")) {
+            String name = layer.getAttribute("name", "");
+            if (!isSimulated(name)) {
+                continue;
+            }
+            int width = layer.getIntAttribute("width"), height = layer.getIntAttribute("height");
+            int[] ids = BaseTmxMapLoader.getTileIds(layer, width, height);
+            TiledMapTileLayer tileLayer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+            tileLayer.setName(name);
+            tileLayer.setVisible(layer.getIntAttribute("visible", 1) == 1);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int id = ids[y * width + x] & ~FLIP_FLAGS;
+                    if (id != 0) {
+                        tileLayer.setCell(x, height - 1 - y, cell(cells, id));
+                    }
+                }
+            }
+            map.getLayers().add(tileLayer);
+        }
+        return map;
+    }
+
+    /**
+     * Returns the cell of the tile with the given global id, shared by all the
+     * cells of that tile.
+     */
+    private static Cell cell(IntMap<Cell> cells, int id) {
+        Cell cell = cells.get(id);
+        if (cell == null) {
+            TiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+            tile.setId(id);
+            cell = new Cell().setTile(tile);
+            cells.put(id, cell);
+        }
+        return cell;
+    }
+
+    private static boolean isSimulated(String layerName) {
+        for (String name : LAYERS) {
+            if (name.equals(layerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,239 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs many independent game sessions without rendering. Each session is a 
+ * World driven by an InputScript. All sessions are advanced by a shared tick 
+ * scheduler: on every tick the sessions are split between a fixed number of 
+ * worker threads, and the next tick starts once all of them are stepped. 
+ * Maps are loaded once and shared read-only by all the sessions.
+ * 
+ * The server measures the CPU time spent stepping each session, and the heap 
+ * taken by the sessions when they are created.
+ * 
+ * Preconditions:
+ * - a libGDX application (e.g. the headless backend) has to be running, so that 
+ *   the manifest and maps can be read
+ * 
+ * This class uses disposable elements. Please remember to run dispose() when 
+ * the server is no longer needed to avoid memory leaks.
+ * 
+ * Our contribution: 100%
+ */
+public class SimulationServer implements Disposable {
+
+    private final Array<Session> sessions = new Array<Session>();
+    private final SharedMapSource maps = new SharedMapSource();
+    private final ExecutorService workers;
+    private final int threads;
+    private long sessionHeapBytes;
+
+    /**
+     * Creates an instance of SimulationServer.
+     * @param threads the number of worker threads stepping the sessions
+     */
+    public SimulationServer(int threads) {
+        this.threads = threads;
+        this.workers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int count;
+
+            @Override
+            public synchronized Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "simulation-" + count++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Creates the sessions, each starting in the start area of AreaRegistry, 
+     * and measures the heap they take.
+     * @param scripts the scripts driving the sessions, one per session
+     */
+    public void createSessions(Array<InputScript> scripts) {
+        String startArea = AreaRegistry.getInstance().getStartArea();
+        maps.getMap(AreaRegistry.getInstance().getArea(startArea).getMapName());
+
+        long before = usedHeap();
+        for (InputScript script : scripts) {
+            sessions.add(new Session(new World(maps, startArea), script));
+        }
+        long after = usedHeap();
+        sessionHeapBytes = scripts.size == 0 ? 0 : Math.max(0, after - before) / scripts.size;
+    }
+
+    /**
+     * Runs all the sessions for the given number of ticks.
+     * @param ticks the number of ticks to simulate
+     * @param tickRate the desired number of ticks per second, or 0 to run as 
+     * fast as possible
+     * @return the Report of the run
+     */
+    public Report run(long ticks, int tickRate) {
+        List<Callable<Void>> partitions = new ArrayList<Callable<Void>>(threads);
+        for (int i = 0; i < threads; i++) {
+            final int first = i;
+            partitions.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int s = first; s < sessions.size; s += threads) {
+                        sessions.get(s).step();
+                    }
+                    return null;
+                }
+            });
+        }
+
+        long tickNanos = tickRate > 0 ? 1000000000L / tickRate : 0;
+        long start = System.nanoTime();
+        long overruns = 0;
+        for (long tick = 0; tick < ticks; tick++) {
+            long deadline = start + (tick + 1) * tickNanos;
+            try {
+                for (Future<Void> result : workers.invokeAll(partitions)) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new GdxRuntimeException("Session failed", e.getCause());
+            }
+            if (tickNanos > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    sleep(remaining);
+                } else {
+                    overruns++;
+                }
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        long cpuNanos = 0, steps = 0, maxSessionNanos = 0;
+        int transitions = 0;
+        for (Session session : sessions) {
+            cpuNanos += session.cpuNanos;
+            steps += session.world.getTick();
+            transitions += session.world.getTransitions();
+            maxSessionNanos = Math.max(maxSessionNanos, session.cpuNanos);
+        }
+        return new Report(sessions.size, steps, wallNanos, cpuNanos, maxSessionNanos,
+                sessionHeapBytes, transitions, overruns);
+    }
+
+    /**
+     * Returns the sessions of the server.
+     * @return the Worlds of all the sessions
+     */
+    public Array<World> getWorlds() {
+        Array<World> worlds = new Array<World>(sessions.size);
+        for (Session session : sessions) {
+            worlds.add(session.world);
+        }
+        return worlds;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Utility method for stopping the workers and disposing the shared maps.
+     * Does not run automatically!
+     * 
+     * Postconditions:
+     * - the server can no longer be run
+     */
+    @Override
+    public void dispose() {
+        workers.shutdownNow();
+        maps.dispose();
+    }
+
+    /**
+     * A single session: a World together with the script driving it.
+     */
+    private static class Session {
+
+        private final World world;
+        private final InputScript script;
+        private long cpuNanos;
+
+        private Session(World world, InputScript script) {
+            this.world = world;
+            this.script = script;
+        }
+
+        private void step() {
+            long start = System.nanoTime();
+            world.step(script.inputAt(world.getTick()));
+            cpuNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Summary of a single run of the server.
+     */
+    public static class Report {
+
+        public final int sessions;
+        public final long steps;
+        public final long wallNanos, cpuNanos, maxSessionCpuNanos;
+        public final long heapBytesPerSession;
+        public final int transitions;
+        public final long overruns;
+
+        private Report(int sessions, long steps, long wallNanos, long cpuNanos,
+                long maxSessionCpuNanos, long heapBytesPerSession, int transitions, long overruns) {
+            this.sessions = sessions;
+            this.steps = steps;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.maxSessionCpuNanos = maxSessionCpuNanos;
+            this.heapBytesPerSession = heapBytesPerSession;
+            this.transitions = transitions;
+            this.overruns = overruns;
+        }
+
+        /**
+         * Returns the average CPU time of a single step of a single session.
+         * @return the CPU time per step in nanoseconds
+         */
+        public double nanosPerStep() {
+            return steps == 0 ? 0 : (double) cpuNanos / steps;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sessions=%d steps=%d wall=%.1fms cpu/step=%.0fns "
+                    + "max-session-cpu=%.1fms heap/session=%dB transitions=%d overruns=%d",
+                    sessions, steps, wallNanos / 1e6, nanosPerStep(), maxSessionCpuNanos / 1e6,
+                    heapBytesPerSession, transitions, overruns);
+        }
+    }
+}
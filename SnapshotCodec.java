@@ -0,0 +1,178 @@
+package com.mygdx.game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes ReplicatedStates as snapshot packets. A snapshot is 
+ * encoded as a delta against a baseline, the last state acknowledged by the 
+ * client: a bit mask marks the fields that changed, and only those are written.
+ * Position, velocity and input deltas that fit in a byte take 9 bits, and larger ones 33.
+ * Without a baseline, the state is encoded against an empty state.
+ * 
+ * Snapshot packet layout:
+ * 
+ *     byte  type (SNAPSHOT)
+ *     int   tick
+ *     int   baseline tick, or -1
+ *     bits  changed mask (5), then the changed fields
+ * 
+ * A codec keeps its own bit buffer, therefore it must not be shared between threads.
+ * 
+ * Our contribution: 100%
+ */
+public class SnapshotCodec {
+
+    /**
+     * Type of the packet carrying a snapshot, sent by the server.
+     */
+    public static final byte SNAPSHOT = 2;
+
+    private static final int AREA_BIT = 1, POSITION_BIT = 1 << 1, FLAGS_BIT = 1 << 2, INPUT_BIT = 1 << 3,
+            VELOCITY_BIT = 1 << 4;
+    private static final ReplicatedState EMPTY = new ReplicatedState();
+
+    private long scratch;
+    private int scratchBits;
+
+    /**
+     * Writes the snapshot of the state into the buffer.
+     * @param state the state to be encoded
+     * @param baseline the state acknowledged by the client, or null
+     * @param out the buffer to write to
+     */
+    public void encode(ReplicatedState state, ReplicatedState baseline, ByteBuffer out) {
+        ReplicatedState base = baseline != null ? baseline : EMPTY;
+        out.put(SNAPSHOT);
+        out.putInt(state.tick);
+        out.putInt(baseline != null ? baseline.tick : -1);
+
+        int changed = 0;
+        if (state.areaIndex != base.areaIndex) {
+            changed |= AREA_BIT;
+        }
+        if (state.posX != base.posX || state.posY != base.posY) {
+            changed |= POSITION_BIT;
+        }
+        if (state.velX != base.velX || state.velY != base.velY) {
+            changed |= VELOCITY_BIT;
+        }
+        if (state.flags != base.flags) {
+            changed |= FLAGS_BIT;
+        }
+        if (state.lastInput != base.lastInput) {
+            changed |= INPUT_BIT;
+        }
+
+        scratch = 0;
+        scratchBits = 0;
+        write(out, changed, 5);
+        if ((changed & AREA_BIT) != 0) {
+            write(out, state.areaIndex, 16);
+        }
+        if ((changed & POSITION_BIT) != 0) {
+            writeDelta(out, state.posX - base.posX);
+            writeDelta(out, state.posY - base.posY);
+        }
+        if ((changed & VELOCITY_BIT) != 0) {
+            writeDelta(out, state.velX - base.velX);
+            writeDelta(out, state.velY - base.velY);
+        }
+        if ((changed & FLAGS_BIT) != 0) {
+            write(out, state.flags, 4);
+        }
+        if ((changed & INPUT_BIT) != 0) {
+            writeDelta(out, state.lastInput - base.lastInput);
+        }
+        if (scratchBits > 0) {
+            out.put((byte) scratch);
+        }
+    }
+
+    /**
+     * Reads the baseline tick of the snapshot at the current position of the 
+     * buffer, without consuming it.
+     * @param in the buffer holding the snapshot packet
+     * @return the baseline tick, or -1 if the snapshot is encoded without a baseline
+     */
+    public static int peekBaseline(ByteBuffer in) {
+        return in.getInt(in.position() + 5);
+    }
+
+    /**
+     * Reads the snapshot from the buffer into the state.
+     * 
+     * Precondition:
+     * - the baseline has to be the state of the tick returned by peekBaseline(ByteBuffer)
+     * 
+     * @param in the buffer holding the snapshot packet
+     * @param baseline the baseline state, or null if the snapshot has none
+     * @param state the state to be read into
+     */
+    public void decode(ByteBuffer in, ReplicatedState baseline, ReplicatedState state) {
+        ReplicatedState base = baseline != null ? baseline : EMPTY;
+        in.get();
+        int tick = in.getInt();
+        in.getInt();
+
+        scratch = 0;
+        scratchBits = 0;
+        state.set(base);
+        state.tick = tick;
+        int changed = read(in, 5);
+        if ((changed & AREA_BIT) != 0) {
+            state.areaIndex = read(in, 16);
+        }
+        if ((changed & POSITION_BIT) != 0) {
+            state.posX = base.posX + readDelta(in);
+            state.posY = base.posY + readDelta(in);
+        }
+        if ((changed & VELOCITY_BIT) != 0) {
+            state.velX = base.velX + readDelta(in);
+            state.velY = base.velY + readDelta(in);
+        }
+        if ((changed & FLAGS_BIT) != 0) {
+            state.flags = read(in, 4);
+        }
+        if ((changed & INPUT_BIT) != 0) {
+            state.lastInput = base.lastInput + readDelta(in);
+        }
+    }
+
+    private void writeDelta(ByteBuffer out, int delta) {
+        if (delta >= Byte.MIN_VALUE && delta <= Byte.MAX_VALUE) {
+            write(out, 0, 1);
+            write(out, delta, 8);
+        } else {
+            write(out, 1, 1);
+            write(out, delta, 32);
+        }
+    }
+
+    private int readDelta(ByteBuffer in) {
+        if (read(in, 1) == 0) {
+            return (byte) read(in, 8);
+        }
+        return read(in, 32);
+    }
+
+    private void write(ByteBuffer out, int value, int bits) {
+        scratch |= (value & (-1L >>> (64 - bits))) << scratchBits;
+        scratchBits += bits;
+        while (scratchBits >= 8) {
+            out.put((byte) scratch);
+            scratch >>>= 8;
+            scratchBits -= 8;
+        }
+    }
+
+    private int read(ByteBuffer in, int bits) {
+        while (scratchBits < bits) {
+            scratch |= (in.get() & 0xFFL) << scratchBits;
+            scratchBits += 8;
+        }
+        int value = (int) (scratch & (-1L >>> (64 - bits)));
+        scratch >>>= bits;
+        scratchBits -= bits;
+        return value;
+    }
+}
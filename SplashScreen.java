@@ -3,6 +3,7 @@ package com.mygdx.game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
 
 /**
  * Simple splash screen class asking for the users input.
@@ -10,16 +11,19 @@ import com.badlogic.gdx.graphics.GL20;
  * Our contribution: 100%
  */
 public class SplashScreen extends AbstractScreen {
+
+    private final ResourceHandle<Texture> splash;
     
     /**
-     * Constructor that creates the SplashScreen instance. Sets up an Input Adapter
-     * which observes for any users input.
+     * Constructor that creates the SplashScreen instance. Acquires the splash 
+     * texture and sets up an Input Adapter which observes for any users input.
      */
     public SplashScreen() {
+        splash = Resources.acquireTexture("splash.png");
         Gdx.input.setInputProcessor(new InputAdapter() {
             @Override
             public boolean keyDown(int keycode) {
-                ScreenManager.getInstance().showScreen(ScreenEnum.AREA_ONE);
+                ScreenManager.getInstance().showArea(AreaRegistry.getInstance().getStartArea());
                 return true;
             }
         });
@@ -36,8 +40,16 @@ public class SplashScreen extends AbstractScreen {
     public void render(float delta) {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         game.batch.begin();
-        game.batch.draw(Resources.splash, 0, 0);
+        game.batch.draw(splash.get(), 0, 0);
         game.font.draw(game.batch, "Press any key to continue...", 600, 64);
         game.batch.end();
     }
+
+    /**
+     * Utility method for disposing assets. Releases the splash texture to Resources.
+     */
+    @Override
+    public void dispose() {
+        splash.release();
+    }
 }
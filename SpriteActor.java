@@ -0,0 +1,38 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Interface for every element of the game that is drawn by the SpriteRenderer.
+ * The position of an actor is the position of the center of its frame.
+ * 
+ * Our contribution: 100%
+ */
+public interface SpriteActor {
+
+    /**
+     * Returns the region to be drawn at the given time of the AnimationClock.
+     * @param time the current time of the AnimationClock
+     * @return the current frame of the actor
+     */
+    TextureRegion getFrame(float time);
+
+    /**
+     * Returns the X-position of the center of the actor.
+     * @return the X-position of the actor
+     */
+    float getCenterX();
+
+    /**
+     * Returns the Y-position of the center of the actor.
+     * @return the Y-position of the actor
+     */
+    float getCenterY();
+
+    /**
+     * Returns the layer of the actor. Actors of higher layers are drawn on top
+     * of actors of lower layers.
+     * @return the layer of the actor
+     */
+    int getLayer();
+}
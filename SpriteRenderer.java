@@ -0,0 +1,152 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import java.util.Comparator;
+
+/**
+ * Rendering stage for all the SpriteActors of a play area. On each frame it 
+ * skips the actors outside of the view of the camera, asks each visible actor 
+ * for its frame at the time of the shared AnimationClock, and sorts them by 
+ * layer and texture before submitting them to the batch. An actor animates by
+ * returning different frames for different times. The only actor at the moment,
+ * the Player, has a single frame per dimension, and does not animate. As the batch has to be 
+ * flushed each time the texture changes, sorting keeps the number of flushes 
+ * close to the number of distinct textures per layer.
+ * 
+ * The entries used for sorting are pooled, so rendering does not allocate once
+ * the number of visible actors stops growing.
+ * 
+ * Our contribution: 100%
+ */
+public class SpriteRenderer {
+
+    private final Array<SpriteActor> actors = new Array<SpriteActor>(false, 64);
+    private final Array<Entry> visible = new Array<Entry>(false, 64);
+    private final Array<Entry> pool = new Array<Entry>(false, 64);
+    private int lastRenderCalls, lastVisibleCount;
+    private float drawDistance = Float.MAX_VALUE;
+
+    private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry a, Entry b) {
+            if (a.layer != b.layer) {
+                return a.layer < b.layer ? -1 : 1;
+            }
+            if (a.textureKey != b.textureKey) {
+                return a.textureKey < b.textureKey ? -1 : 1;
+            }
+            return 0;
+        }
+    };
+
+    /**
+     * Adds the actor to be rendered by this SpriteRenderer.
+     * @param actor the desired SpriteActor
+     */
+    public void add(SpriteActor actor) {
+        actors.add(actor);
+    }
+
+    /**
+     * Removes the actor from this SpriteRenderer.
+     * @param actor the SpriteActor to be removed
+     */
+    public void remove(SpriteActor actor) {
+        actors.removeValue(actor, true);
+    }
+
+    /**
+     * Renders all the actors visible by the camera. Begins and ends the batch
+     * on its own.
+     * 
+     * Preconditions:
+     * - the projection matrix of the batch has to be set to the camera
+     * 
+     * @param camera the camera the scene is rendered with
+     * @param batch the batch to submit the actors to
+     */
+    public void render(OrthographicCamera camera, SpriteBatch batch) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        float left = camera.position.x - halfWidth, right = camera.position.x + halfWidth;
+        float bottom = camera.position.y - halfHeight, top = camera.position.y + halfHeight;
+        float time = AnimationClock.getTime();
+        float maxDistance2 = drawDistance == Float.MAX_VALUE ? Float.MAX_VALUE : drawDistance * drawDistance;
+
+        for (int i = 0; i < actors.size; i++) {
+            SpriteActor actor = actors.get(i);
+            TextureRegion frame = actor.getFrame(time);
+            float width = frame.getRegionWidth(), height = frame.getRegionHeight();
+            float x = actor.getCenterX() - width / 2, y = actor.getCenterY() - height / 2;
+            if (x > right || x + width < left || y > top || y + height < bottom) {
+                continue;
+            }
+            float dx = actor.getCenterX() - camera.position.x, dy = actor.getCenterY() - camera.position.y;
+            if (dx * dx + dy * dy > maxDistance2) {
+                continue;
+            }
+            Entry entry = pool.size > 0 ? pool.pop() : new Entry();
+            entry.frame = frame;
+            entry.x = x;
+            entry.y = y;
+            entry.layer = actor.getLayer();
+            entry.textureKey = frame.getTexture().getTextureObjectHandle();
+            visible.add(entry);
+        }
+        visible.sort(ORDER);
+
+        int renderCalls = batch.totalRenderCalls;
+        batch.begin();
+        for (int i = 0; i < visible.size; i++) {
+            Entry entry = visible.get(i);
+            batch.draw(entry.frame, entry.x, entry.y);
+            entry.frame = null;
+        }
+        batch.end();
+        lastRenderCalls = batch.totalRenderCalls - renderCalls;
+        lastVisibleCount = visible.size;
+
+        pool.addAll(visible);
+        visible.clear();
+    }
+
+    /**
+     * Sets the distance from the center of the view beyond which actors are 
+     * not drawn, even if visible.
+     * @param drawDistance the draw distance in world units, or Float.MAX_VALUE 
+     * to draw all visible actors
+     */
+    public void setDrawDistance(float drawDistance) {
+        this.drawDistance = drawDistance;
+    }
+
+    /**
+     * Returns the number of batch flushes of the last render() call.
+     * @return the number of render calls
+     */
+    public int getLastRenderCalls() {
+        return lastRenderCalls;
+    }
+
+    /**
+     * Returns the number of actors drawn in the last render() call.
+     * @return the number of visible actors
+     */
+    public int getLastVisibleCount() {
+        return lastVisibleCount;
+    }
+
+    /**
+     * A visible actor of the current frame, prepared for sorting.
+     */
+    private static class Entry {
+
+        private TextureRegion frame;
+        private float x, y;
+        private int layer;
+        private int textureKey;
+    }
+}
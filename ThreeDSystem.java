@@ -16,11 +16,15 @@ public class ThreeDSystem {
      * Turns on/off the thirdDimensionMode.
      */
     public static void switchDimension() {
+        GameEvents.DimensionSwitch event = new GameEvents.DimensionSwitch();
+        event.begin();
         if (thirdDimensionMode) {
             thirdDimensionMode = false;
         } else {
             thirdDimensionMode = true;
         }    
+        event.thirdDimension = thirdDimensionMode;
+        event.commit();
     }
     
     /**
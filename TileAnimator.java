@@ -0,0 +1,181 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Animates the tiles of a TiledMap that are declared as animated in its tilesets.
+ * Each animated tile type is replaced with a single StaticTiledMapTile shared by 
+ * all the cells of that type, and the animation table of the map only changes 
+ * the region and the offsets of that shared tile. Advancing the animation 
+ * therefore costs O(animated tile types) instead of O(animated cells), and the 
+ * cells themselves stay plain references, the same as for static tiles.
+ * 
+ * The frames are picked up by renderers that read the tiles on every frame, 
+ * such as the FogTiledMapRenderer. Renderers caching the layer geometry, e.g. 
+ * OrthoCachedTiledMapRenderer, store the region of a tile once, and would keep
+ * drawing its first frame. Animated tiles have to stay out of cached layers.
+ * 
+ * The animations are driven by the AnimationClock, so every map animates in sync.
+ * The TileAnimator of a map is stored in its properties, so it is shared by all 
+ * the PlayScreens rendering the same map.
+ * 
+ * Our contribution: 100%
+ */
+public class TileAnimator {
+
+    private static final String PROPERTY = "TileAnimator";
+
+    private final Array<AnimatedTile> tiles = new Array<AnimatedTile>(false, 8);
+
+    /**
+     * Private constructor that creates an instance of TileAnimator.
+     */
+    private TileAnimator() {}
+
+    /**
+     * Builds the animation table of the map, and replaces its animated tiles 
+     * with the shared tiles of the table. Runs a single pass over the cells of
+     * the map, therefore it should be invoked once, when the map is loaded.
+     * 
+     * Postconditions:
+     * - the TileAnimator can be retrieved with get(TiledMap)
+     * 
+     * @param map the desired TiledMap
+     * @return the TileAnimator of the map
+     */
+    public static TileAnimator install(TiledMap map) {
+        TileAnimator animator = new TileAnimator();
+        ObjectMap<TiledMapTile, TiledMapTile> replaced = new ObjectMap<TiledMapTile, TiledMapTile>();
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            Array<AnimatedTiledMapTile> animated = new Array<AnimatedTiledMapTile>();
+            for (TiledMapTile tile : tileSet) {
+                if (tile instanceof AnimatedTiledMapTile) {
+                    animated.add((AnimatedTiledMapTile) tile);
+                }
+            }
+            for (AnimatedTiledMapTile tile : animated) {
+                AnimatedTile entry = new AnimatedTile(tile);
+                tileSet.putTile(tile.getId(), entry.shared);
+                replaced.put(tile, entry.shared);
+                animator.tiles.add(entry);
+            }
+        }
+        if (replaced.size > 0) {
+            for (MapLayer layer : map.getLayers()) {
+                if (layer instanceof TiledMapTileLayer) {
+                    replaceCells((TiledMapTileLayer) layer, replaced);
+                }
+            }
+        }
+        map.getProperties().put(PROPERTY, animator);
+        return animator;
+    }
+
+    /**
+     * Returns the TileAnimator installed on the map.
+     * 
+     * Precondition:
+     * - the TileAnimator has to be installed with install(TiledMap)
+     * 
+     * @param map the desired TiledMap
+     * @return the TileAnimator of the map
+     */
+    public static TileAnimator get(TiledMap map) {
+        return map.getProperties().get(PROPERTY, TileAnimator.class);
+    }
+
+    /**
+     * Points the cells of the layer to the shared tiles replacing animated tiles.
+     * @param layer the desired layer
+     * @param replaced the shared tiles indexed by the tiles they replace
+     */
+    private static void replaceCells(TiledMapTileLayer layer, ObjectMap<TiledMapTile, TiledMapTile> replaced) {
+        for (int x = 0; x < layer.getWidth(); x++) {
+            for (int y = 0; y < layer.getHeight(); y++) {
+                Cell cell = layer.getCell(x, y);
+                if (cell != null && cell.getTile() != null) {
+                    TiledMapTile tile = replaced.get(cell.getTile());
+                    if (tile != null) {
+                        cell.setTile(tile);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the shared tiles to the frames matching the given time.
+     * Should be invoked once per frame, before the map is rendered.
+     * @param time the current time of the AnimationClock in seconds
+     */
+    public void update(float time) {
+        long millis = (long) (time * 1000);
+        for (int i = 0; i < tiles.size; i++) {
+            tiles.get(i).update(millis);
+        }
+    }
+
+    /**
+     * Returns the number of animated tile types of the map.
+     * @return the number of entries in the animation table
+     */
+    public int getAnimatedTileCount() {
+        return tiles.size;
+    }
+
+    /**
+     * Entry of the animation table: a single animated tile type, with its 
+     * frames and the tile shared by all the cells of this type.
+     */
+    private static class AnimatedTile {
+
+        private final StaticTiledMapTile shared;
+        private final TextureRegion region;
+        private final StaticTiledMapTile[] frames;
+        private final int[] intervals;
+        private final long cycle;
+        private int current;
+
+        private AnimatedTile(AnimatedTiledMapTile tile) {
+            frames = tile.getFrameTiles();
+            intervals = tile.getAnimationIntervals();
+            long sum = 0;
+            for (int interval : intervals) {
+                sum += interval;
+            }
+            cycle = Math.max(1, sum);
+            region = new TextureRegion(frames[0].getTextureRegion());
+            shared = new StaticTiledMapTile(region);
+            shared.setOffsetX(frames[0].getOffsetX());
+            shared.setOffsetY(frames[0].getOffsetY());
+            shared.setId(tile.getId());
+            shared.setBlendMode(tile.getBlendMode());
+            shared.getProperties().putAll(tile.getProperties());
+        }
+
+        private void update(long millis) {
+            long position = millis % cycle;
+            int frame = 0;
+            while (frame < intervals.length - 1 && position >= intervals[frame]) {
+                position -= intervals[frame];
+                frame++;
+            }
+            if (frame != current) {
+                current = frame;
+                region.setRegion(frames[frame].getTextureRegion());
+                shared.setOffsetX(frames[frame].getOffsetX());
+                shared.setOffsetY(frames[frame].getOffsetY());
+            }
+        }
+    }
+}
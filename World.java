@@ -0,0 +1,248 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * The simulation state of a single game session: the player, its own collision
+ * and portal detectors, the PhysicsBodies moving the player, the dimension mode
+ * and the current area. A World owns all its state, so any number of Worlds 
+ * can be simulated in one process without rendering, e.g. by the 
+ * SimulationServer, while the PlayScreen simulates its area through a World too.
+ * 
+ * Maps are only read by the World, so the same TiledMap instances can be shared
+ * between Worlds running on different threads.
+ * 
+ * A World created with a MapSource follows the player through portals by itself.
+ * A World bound to a single map, as used by the PlayScreen, only reports the 
+ * destination of the portal entered, and leaves the transition to its owner.
+ * 
+ * Our contribution: 100%
+ */
+public class World {
+
+    /**
+     * Provides the World with the maps of the areas it enters.
+     */
+    public interface MapSource {
+
+        /**
+         * Returns the loaded TiledMap of the given file name.
+         * @param fileName the file name of the map inside the assets directory
+         * @return the TiledMap
+         */
+        TiledMap getMap(String fileName);
+    }
+
+    /**
+     * The size of the player, matching the size of its textures.
+     */
+    public static final float PLAYER_SIZE = 64;
+    /**
+     * The time in seconds simulated by a single step.
+     */
+    public static final float STEP = 1 / 60f;
+    /**
+     * The maximal number of moving bodies in the area of a World.
+     */
+    public static final int BODIES = 64;
+
+    private final MapSource maps;
+    private final CollisionDetector collision = new CollisionDetector();
+    private final PortalDetector portals = new PortalDetector();
+    private final PhysicsBodies physics = new PhysicsBodies(BODIES);
+    private Player player;
+    private AreaDefinition area;
+    private boolean thirdDimensionMode;
+    private int previousInput;
+    private long tick;
+    private int transitions;
+
+    /**
+     * Creates an instance of World, and places the player in the given area.
+     * 
+     * Precondition:
+     * - AreaRegistry has to be initialized
+     * 
+     * @param maps the source of the maps of the areas
+     * @param areaId the id of the area to start in
+     */
+    public World(MapSource maps, String areaId) {
+        this.maps = maps;
+        enterArea(areaId);
+    }
+
+    /**
+     * Creates an instance of World bound to a single, already loaded map, with
+     * the given player placed in it.
+     * 
+     * Precondition:
+     * - AreaRegistry has to be initialized
+     * 
+     * @param areaId the id of the area of the map
+     * @param map the TiledMap of the area
+     * @param player the player, at its spawn
+     */
+    public World(String areaId, TiledMap map, Player player) {
+        this.maps = null;
+        this.area = AreaRegistry.getInstance().getArea(areaId);
+        placePlayer(map, player);
+    }
+
+    /**
+     * Places a new player at the spawn of the given area, and sets up the 
+     * detectors with its map.
+     * 
+     * Precondition:
+     * - the World has to be created with a MapSource
+     * 
+     * Postconditions:
+     * - the previous player of this World is lost
+     * 
+     * @param areaId the id of the desired area
+     */
+    public final void enterArea(String areaId) {
+        if (maps == null) {
+            throw new GdxRuntimeException("World is bound to the map of area " + area.getId());
+        }
+        area = AreaRegistry.getInstance().getArea(areaId);
+        TiledMap map = maps.getMap(area.getMapName());
+        placePlayer(map, new Player(area.getSpawnX(map), area.getSpawnY(map), PLAYER_SIZE, PLAYER_SIZE));
+    }
+
+    /**
+     * Attaches the player to the PhysicsBodies, and sets up the detectors with
+     * the map and the player.
+     */
+    private void placePlayer(TiledMap map, Player player) {
+        this.player = player;
+        physics.clear();
+        player.attach(physics);
+        collision.setCollisionMap(map);
+        portals.setPortalMap(map);
+        portals.setPlayer(player);
+    }
+
+    /**
+     * Advances the simulation by a single step of STEP seconds, see step(int, float).
+     * 
+     * @param input the bit mask of PlayerInput flags for this step
+     * @return the id of the area the player has entered a portal to, or null
+     */
+    public String step(int input) {
+        return step(input, STEP);
+    }
+
+    /**
+     * Advances the simulation by a single step: switches the dimension when 
+     * the switch key gets pressed, moves the player, and, if the World was
+     * created with a MapSource, changes the area if the player has entered a portal.
+     * 
+     * @param input the bit mask of PlayerInput flags for this step
+     * @param delta the time in seconds to advance by
+     * @return the id of the area the player has entered a portal to, or null
+     */
+    public String step(int input, float delta) {
+        if (PlayerInput.isSet(input, PlayerInput.SWITCH_FLAG)
+                && !PlayerInput.isSet(previousInput, PlayerInput.SWITCH_FLAG)) {
+            thirdDimensionMode = !thirdDimensionMode;
+        }
+        previousInput = input;
+
+        player.steer(input);
+        physics.step(delta, collision);
+        player.followBody();
+        String destination = null;
+        if (portals.checkForPortal()) {
+            destination = portals.getDestination();
+            if (destination != null && maps != null) {
+                enterArea(destination);
+                transitions++;
+            }
+        }
+        tick++;
+        return destination;
+    }
+
+    /**
+     * Overrides the state of this World with the given one, e.g. received from
+     * an authoritative server. The player is moved to the area if needed.
+     * 
+     * @param areaId the id of the area of the player
+     * @param posX the X-position of the player
+     * @param posY the Y-position of the player
+     * @param velX the X-component of the velocity of the player
+     * @param velY the Y-component of the velocity of the player
+     * @param thirdDimensionMode the dimension mode
+     * @param previousInput the input of the last step applied to the given state
+     */
+    public void restore(String areaId, float posX, float posY, float velX, float velY,
+            boolean thirdDimensionMode, int previousInput) {
+        if (!areaId.equals(area.getId())) {
+            enterArea(areaId);
+        }
+        player.setX(posX);
+        player.setY(posY);
+        player.setVelocity(velX, velY);
+        player.updatePlayerNodes();
+        this.thirdDimensionMode = thirdDimensionMode;
+        this.previousInput = previousInput;
+    }
+
+    /**
+     * Returns the player of this World.
+     * @return the current Player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the PortalDetector of the current map, e.g. to measure the 
+     * distance of the player to the nearest portal.
+     * @return the PortalDetector of this World
+     */
+    public PortalDetector getPortalDetector() {
+        return portals;
+    }
+
+    /**
+     * Returns the id of the area the player is currently in.
+     * @return the id of the current area
+     */
+    public String getAreaId() {
+        return area.getId();
+    }
+
+    /**
+     * Returns the dimension mode of this World.
+     * @return true if the 3D mode is turned on
+     */
+    public boolean isThirdDimensionMode() {
+        return thirdDimensionMode;
+    }
+
+    /**
+     * Sets the dimension mode of this World.
+     * @param thirdDimensionMode true to turn the 3D mode on
+     */
+    public void setThirdDimensionMode(boolean thirdDimensionMode) {
+        this.thirdDimensionMode = thirdDimensionMode;
+    }
+
+    /**
+     * Returns the number of steps simulated.
+     * @return the number of steps
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the number of area transitions that happened in this World.
+     * @return the number of area transitions
+     */
+    public int getTransitions() {
+        return transitions;
+    }
+}